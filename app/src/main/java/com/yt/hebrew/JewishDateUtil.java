@@ -2,24 +2,68 @@ package com.yt.hebrew;
 
 import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
 import com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter;
+import com.yt.hebrewdatepicker.HebrewCalendarMath;
+import com.yt.hebrewdatepicker.HebrewDate;
+import com.yt.hebrewdatepicker.ParshaIndex;
 
 public class JewishDateUtil {
 
+    // פורמטר אחד לכל האפליקציה; הוא אינו בטוח לשימוש מכמה threads, ולכן הגישה אליו מסונכרנת.
+    private static final HebrewDateFormatter hdf = new HebrewDateFormatter();
+
+    static {
+        hdf.setHebrewFormat(true);
+    }
+
     public static JewishCalendar getJewishCalendar() {
         return new JewishCalendar(); // לועזי לעברי, משתמש בזמן המערכת
     }
 
     public static String getHebrewDate() {
         JewishCalendar jc = getJewishCalendar();
-        HebrewDateFormatter hdf = new HebrewDateFormatter();
-        hdf.setHebrewFormat(true);
-        return hdf.format(jc); // תאריך עברי
+        synchronized (hdf) {
+            return hdf.format(jc); // תאריך עברי
+        }
     }
 
     public static String getParsha() {
-        JewishCalendar jc = getJewishCalendar();
-        HebrewDateFormatter hdf = new HebrewDateFormatter();
-        hdf.setHebrewFormat(true);
-        return hdf.formatParsha(jc);
+        int today = HebrewDate.today();
+        int dayOfYear = HebrewCalendarMath.dayOfYear(HebrewDate.year(today), HebrewDate.month(today), HebrewDate.day(today));
+        return ParshaIndex.formatParsha(ParshaIndex.getInstance(false).getParshaIndex(HebrewDate.year(today), dayOfYear));
+    }
+
+    /**
+     * שמות הפרשות של חודש עברי שלם, לפי יום בחודש: {@code result[day - 1]} הוא שם הפרשה,
+     * או null ביום שאינו שבת או בשבת שאין בה פרשה.
+     * @param month החודש, לפי הקבועים של {@link JewishCalendar}.
+     */
+    public static String[] getMonthParshiyot(int year, int month, boolean inIsrael) {
+        int days = HebrewCalendarMath.daysInMonth(year, month);
+        int firstAbs = HebrewCalendarMath.toAbs(year, month, 1);
+        // בחודש יש לכל היותר 5 שבתות.
+        int[] shabbatAbs = new int[5];
+        int[] parshiyot = new int[5];
+        int count = ParshaIndex.getInstance(inIsrael).getParshiyot(firstAbs, firstAbs + days - 1, shabbatAbs, parshiyot);
+        String[] names = new String[days];
+        for (int i = 0; i < count; i++) {
+            names[shabbatAbs[i] - firstAbs] = ParshaIndex.formatParsha(parshiyot[i]);
+        }
+        return names;
+    }
+
+    /**
+     * כל השבתות שבהן קוראים פרשה בין שני תאריכים, כולל שניהם.
+     * @param from התאריך הראשון, כ-{@link HebrewDate}.
+     * @param to התאריך האחרון, כ-{@link HebrewDate}.
+     * @param shabbatot מקבל את התאריכים (כ-{@link HebrewDate}) של השבתות.
+     * @param parshiyot מקבל את מספרי הפרשות; השם מתקבל מ-{@link ParshaIndex#formatParsha(int)}.
+     * @return מספר השבתות שנכתבו, לכל היותר אורך המערכים.
+     */
+    public static int getParshiyot(int from, int to, boolean inIsrael, int[] shabbatot, int[] parshiyot) {
+        int count = ParshaIndex.getInstance(inIsrael).getParshiyot(HebrewDate.toAbs(from), HebrewDate.toAbs(to), shabbatot, parshiyot);
+        for (int i = 0; i < count; i++) {
+            shabbatot[i] = HebrewDate.fromAbs(shabbatot[i]);
+        }
+        return count;
     }
 }
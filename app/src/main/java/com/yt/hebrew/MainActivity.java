@@ -10,12 +10,16 @@ import java.util.Locale;
 import java.util.TimeZone;
 import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
 import com.kosherjava.zmanim.util.GeoLocation;
+import com.yt.hebrewdatepicker.HebrewDate;
 import com.yt.hebrewdatepicker.HebrewDatePickerDialog;
 
 public class MainActivity extends AppCompatActivity implements HebrewDatePickerDialog.OnDateSetListener {
 
     private TextView textViewTime, textViewHebrewDate, textViewParsha, textViewSunrise, textViewSunset, textViewSelectedDate;
     private Button buttonShowDatePicker;
+    // המיקום קבוע, ולכן גם המחשבון; הזמנים של כל החודש נשמרים במטמון של ZmanimUtil.
+    private final ZmanimUtil zmanimUtil = new ZmanimUtil(
+            new GeoLocation("Tel Aviv", 32.0853, 34.7818, 0, TimeZone.getTimeZone("Asia/Jerusalem")));
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -43,15 +47,16 @@ public class MainActivity extends AppCompatActivity implements HebrewDatePickerD
     }
 
     private void updateZmanim() {
-        GeoLocation location = new GeoLocation("Tel Aviv", 32.0853, 34.7818, 0, TimeZone.getTimeZone("Asia/Jerusalem"));
-        ZmanimUtil zmanimUtil = new ZmanimUtil(location);
+        int today = HebrewDate.today();
+        ZmanimUtil.MonthZmanim month = zmanimUtil.getMonth(HebrewDate.year(today), HebrewDate.month(today));
 
         Date now = new Date();
         String gregDate = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(now);
         String hebDate = JewishDateUtil.getHebrewDate();
         String parsha = JewishDateUtil.getParsha();
-        String sunrise = new SimpleDateFormat("HH:mm", Locale.getDefault()).format(zmanimUtil.getSunrise());
-        String sunset = new SimpleDateFormat("HH:mm", Locale.getDefault()).format(zmanimUtil.getSunset());
+        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm", Locale.getDefault());
+        String sunrise = formatTime(timeFormat, month.getSunrise(HebrewDate.day(today)));
+        String sunset = formatTime(timeFormat, month.getSunset(HebrewDate.day(today)));
 
         textViewTime.setText("עכשיו: " + gregDate);
         textViewHebrewDate.setText("תאריך עברי: " + hebDate);
@@ -60,6 +65,10 @@ public class MainActivity extends AppCompatActivity implements HebrewDatePickerD
         textViewSunset.setText("שקיעה: " + sunset);
     }
 
+    private static String formatTime(SimpleDateFormat format, long time) {
+        return time == ZmanimUtil.NO_TIME ? "--:--" : format.format(new Date(time));
+    }
+
     @Override
     public void onDateSet(JewishCalendar selectedDate, String formattedDate) {
         textViewSelectedDate.setText("נבחר: " + formattedDate);
@@ -1,14 +1,35 @@
 package com.yt.hebrew;
 
 import com.kosherjava.zmanim.ZmanimCalendar;
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
 import com.kosherjava.zmanim.util.GeoLocation;
+import com.yt.hebrewdatepicker.HebrewCalendarMath;
 
+import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class ZmanimUtil {
+    /** Stored in place of a time that does not occur on a day, e.g. no sunrise near the poles. */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final int MAX_CACHED_MONTHS = 24;
+    // Most recently used last; the eldest month is dropped once the cache is full.
+    private static final Map<MonthKey, MonthZmanim> CACHE =
+            new LinkedHashMap<MonthKey, MonthZmanim>(MAX_CACHED_MONTHS * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MonthKey, MonthZmanim> eldest) {
+                    return size() > MAX_CACHED_MONTHS;
+                }
+            };
+
+    private final GeoLocation location;
     private final ZmanimCalendar zc;
 
     public ZmanimUtil(GeoLocation location) {
+        this.location = location;
         zc = new ZmanimCalendar(location);
     }
 
@@ -19,4 +40,136 @@ public class ZmanimUtil {
     public Date getSunset() {
         return zc.getSunset();
     }
+
+    /** @see #getMonth(GeoLocation, int, int) */
+    public MonthZmanim getMonth(int year, int month) {
+        return getMonth(location, year, month);
+    }
+
+    /**
+     * Sunrise and sunset for every day of a Hebrew month, computed in one pass and cached by
+     * location and month, so showing a month again needs no solar calculations.
+     * @param month The month, using the {@link JewishCalendar} constants.
+     */
+    public static MonthZmanim getMonth(GeoLocation location, int year, int month) {
+        MonthKey key = new MonthKey(location, year, month);
+        synchronized (CACHE) {
+            MonthZmanim cached = CACHE.get(key);
+            if (cached != null) return cached;
+        }
+        MonthZmanim computed = compute(location, year, month);
+        synchronized (CACHE) {
+            CACHE.put(key, computed);
+        }
+        return computed;
+    }
+
+    /** @return Every month of a Hebrew year, from Tishrei, in calendar order. */
+    public static MonthZmanim[] getYear(GeoLocation location, int year) {
+        MonthZmanim[] months = new MonthZmanim[HebrewCalendarMath.monthCount(year)];
+        for (int i = 0; i < months.length; i++) {
+            months[i] = getMonth(location, year, HebrewCalendarMath.monthAt(year, i));
+        }
+        return months;
+    }
+
+    private static MonthZmanim compute(GeoLocation location, int year, int month) {
+        int days = HebrewCalendarMath.daysInMonth(year, month);
+        long[] sunrise = new long[days];
+        long[] sunset = new long[days];
+        JewishCalendar first = new JewishCalendar(year, month, 1);
+        Calendar day = new GregorianCalendar(location.getTimeZone());
+        day.clear();
+        day.set(first.getGregorianYear(), first.getGregorianMonth(), first.getGregorianDayOfMonth());
+        ZmanimCalendar calculator = new ZmanimCalendar(location);
+        calculator.setCalendar(day); // the calculator reads the day from this same Calendar
+        for (int i = 0; i < days; i++) {
+            sunrise[i] = toEpoch(calculator.getSunrise());
+            sunset[i] = toEpoch(calculator.getSunset());
+            day.add(Calendar.DAY_OF_MONTH, 1);
+        }
+        return new MonthZmanim(year, month, sunrise, sunset);
+    }
+
+    private static long toEpoch(Date date) {
+        return date == null ? NO_TIME : date.getTime();
+    }
+
+    /** Clears the month cache, e.g. after the device's time zone changed. */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /** Sunrise and sunset of each day of one Hebrew month, as epoch milliseconds indexed by {@code day - 1}. */
+    public static final class MonthZmanim {
+        public final int year;
+        public final int month;
+        private final long[] sunrise;
+        private final long[] sunset;
+
+        MonthZmanim(int year, int month, long[] sunrise, long[] sunset) {
+            this.year = year;
+            this.month = month;
+            this.sunrise = sunrise;
+            this.sunset = sunset;
+        }
+
+        public int getDayCount() {
+            return sunrise.length;
+        }
+
+        /** @return The sunrise of {@code day} in epoch milliseconds, or {@link #NO_TIME}. */
+        public long getSunrise(int day) {
+            return sunrise[day - 1];
+        }
+
+        /** @return The sunset of {@code day} in epoch milliseconds, or {@link #NO_TIME}. */
+        public long getSunset(int day) {
+            return sunset[day - 1];
+        }
+    }
+
+    private static final class MonthKey {
+        private final double latitude;
+        private final double longitude;
+        private final double elevation;
+        private final String timeZoneId;
+        private final int packedMonth;
+
+        MonthKey(GeoLocation location, int year, int month) {
+            latitude = location.getLatitude();
+            longitude = location.getLongitude();
+            elevation = location.getElevation();
+            timeZoneId = location.getTimeZone().getID();
+            packedMonth = HebrewCalendarMath.packMonth(year, month);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof MonthKey)) return false;
+            MonthKey other = (MonthKey) o;
+            return packedMonth == other.packedMonth
+                    && Double.compare(latitude, other.latitude) == 0
+                    && Double.compare(longitude, other.longitude) == 0
+                    && Double.compare(elevation, other.elevation) == 0
+                    && timeZoneId.equals(other.timeZoneId);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = packedMonth;
+            hash = 31 * hash + hashOf(latitude);
+            hash = 31 * hash + hashOf(longitude);
+            hash = 31 * hash + hashOf(elevation);
+            return 31 * hash + timeZoneId.hashCode();
+        }
+
+        // Double.hashCode(double) needs API 24.
+        private static int hashOf(double value) {
+            long bits = Double.doubleToLongBits(value);
+            return (int) (bits ^ (bits >>> 32));
+        }
+    }
 }
@@ -0,0 +1,58 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// The benchmarks run on a plain JVM, so they compile the picker's Android-free classes
+// straight from the library sources instead of depending on the Android module.
+sourceSets {
+    main {
+        java {
+            srcDir("../hebrewdatepicker/src/main/java")
+            include(
+                "com/yt/hebrewdatepicker/AnniversaryIndex.java",
+                "com/yt/hebrewdatepicker/AvailabilityCache.java",
+                "com/yt/hebrewdatepicker/DateAvailabilityProvider.java",
+                "com/yt/hebrewdatepicker/EventIndex.java",
+                "com/yt/hebrewdatepicker/GematriaParser.java",
+                "com/yt/hebrewdatepicker/HebrewCalendarExporter.java",
+                "com/yt/hebrewdatepicker/HebrewCalendarMath.java",
+                "com/yt/hebrewdatepicker/HebrewDate.java",
+                "com/yt/hebrewdatepicker/HebrewDateConverter.java",
+                "com/yt/hebrewdatepicker/HebrewDateFormat.java",
+                "com/yt/hebrewdatepicker/HebrewDateFormatter.java",
+                "com/yt/hebrewdatepicker/HolidayIndex.java",
+                "com/yt/hebrewdatepicker/MonthGrid.java",
+                "com/yt/hebrewdatepicker/MonthGridCache.java",
+                "com/yt/hebrewdatepicker/MonthSuggestions.java",
+                "com/yt/hebrewdatepicker/ParshaIndex.java",
+                "com/yt/hebrewdatepicker/SuggestionIndex.java"
+            )
+        }
+    }
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    implementation(libs.zmanim)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    benchmarkMode = listOf("thrpt")
+    timeUnit = "ms"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    // Reports the allocation rate next to the throughput of every benchmark.
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
@@ -0,0 +1,60 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * The next year of occurrences of a 50,000-record yahrzeit list.
+ */
+@State(Scope.Thread)
+public class AnniversaryBenchmark {
+
+    private static final int RECORDS = 50000;
+
+    private final int[] dates = new int[RECORDS];
+    private AnniversaryIndex index;
+    private int from;
+    private int to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(5786);
+        for (int i = 0; i < RECORDS; i++) {
+            int date = HebrewDate.fromAbs(HebrewCalendarMath.toAbs(5700, JewishCalendar.TISHREI, 1) + random.nextInt(85 * 365));
+            dates[i] = date;
+        }
+        index = new AnniversaryIndex(dates, AnniversaryIndex.KIND_YAHRZEIT);
+        from = HebrewDate.of(5786, JewishCalendar.TISHREI, 1);
+        to = HebrewDate.of(5786, JewishCalendar.ELUL, 29);
+    }
+
+    @Benchmark
+    public AnniversaryIndex build() {
+        return new AnniversaryIndex(dates, AnniversaryIndex.KIND_YAHRZEIT);
+    }
+
+    @Benchmark
+    public AnniversaryIndex.Occurrences nextYear() {
+        return index.getOccurrences(from, to);
+    }
+
+    /** Only the date of each record in the year, through a reused {@link JewishCalendar}, unsorted. */
+    @Benchmark
+    public int jewishCalendarPerRecord() {
+        JewishCalendar calendar = new JewishCalendar();
+        int sum = 0;
+        for (int date : dates) {
+            calendar.setJewishDate(5786, HebrewDate.month(date) == JewishCalendar.ADAR_II ? JewishCalendar.ADAR : HebrewDate.month(date),
+                    Math.min(HebrewDate.day(date), 29));
+            sum += calendar.getJewishDayOfMonth();
+        }
+        return sum;
+    }
+}
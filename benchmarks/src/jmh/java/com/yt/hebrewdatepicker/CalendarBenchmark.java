@@ -0,0 +1,83 @@
+package com.yt.hebrewdatepicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The work behind {@code HebrewDatePickerDialog.updateCalendar()} and month navigation.
+ */
+@State(Scope.Thread)
+public class CalendarBenchmark {
+
+    /** Build options, see {@code MonthGrid.OPTION_*}: 0 = none, 3 = past dates and holidays disabled. */
+    @Param({"0", "3"})
+    public int options;
+
+    private int todayAbs;
+    private int today;
+    private int year;
+    private int monthIndex;
+    private MonthGridCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        todayAbs = HebrewCalendarMath.todayAbs();
+        year = HebrewCalendarMath.yearOfAbs(todayAbs);
+        today = HebrewDate.fromAbs(todayAbs);
+        cache = new MonthGridCache(24);
+    }
+
+    /** Building a month that is not cached yet. */
+    @Benchmark
+    public MonthGrid computeMonthGrid() {
+        return MonthGrid.compute(year, nextMonth(), options, todayAbs);
+    }
+
+    /** Flipping back and forth between months that are already cached. */
+    @Benchmark
+    public MonthGrid cachedMonthGrid() {
+        return cache.get(year, nextMonth(), options, todayAbs);
+    }
+
+    /** What the month arrows do. */
+    @Benchmark
+    public int addMonths() {
+        return HebrewCalendarMath.addMonths(year, nextMonth(), 1);
+    }
+
+    /** Everything the grid needs to place a month: its first absolute day and its length. */
+    @Benchmark
+    public int monthStartAndLength() {
+        int month = nextMonth();
+        return HebrewCalendarMath.toAbs(year, month, 1) + HebrewCalendarMath.daysInMonth(year, month);
+    }
+
+    /** The past-date check used by the dialog and the suggestion list. */
+    @Benchmark
+    public boolean isBeforeCurrentMonth() {
+        int date = HebrewDate.of(year, nextMonth(), 15);
+        return HebrewDate.compareMonths(date, today) < 0;
+    }
+
+    /** Walking day by day, e.g. over a selected range. */
+    @Benchmark
+    public int plusDays() {
+        return HebrewDate.plusDays(today, nextMonth() * 3);
+    }
+
+    /** The range summary line: the blocked days of a year-long selected range. */
+    @Benchmark
+    public int countDisabledInRange() {
+        int start = todayAbs + nextMonth() * 3;
+        return MonthGrid.countDisabled(start, start + 364, options, todayAbs, null);
+    }
+
+    private int nextMonth() {
+        monthIndex = monthIndex % 12 + 1;
+        return monthIndex;
+    }
+}
@@ -0,0 +1,73 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HebrewDateConverter} on an event list, against one {@link JewishCalendar} per date.
+ * Reported in dates per second.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConverterBenchmark {
+
+    private static final int DATES = 50000;
+
+    private final int[] epochDays = new int[DATES];
+    private final int[] out = new int[DATES];
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Sorted dates over about 80 years, like a yahrzeit list ordered by date.
+        Random random = new Random(5786);
+        int day = (int) LocalDate.of(1950, 1, 1).toEpochDay();
+        for (int i = 0; i < DATES; i++) {
+            day += random.nextInt(2);
+            epochDays[i] = day;
+        }
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public int[] jewishCalendarPerDate() {
+        for (int i = 0; i < DATES; i++) {
+            out[i] = HebrewDate.from(new JewishCalendar(LocalDate.ofEpochDay(epochDays[i])));
+        }
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public int[] sequential() {
+        HebrewDateConverter.fromEpochDays(epochDays, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public int[] parallel() {
+        HebrewDateConverter.fromEpochDays(epochDays, out, executor);
+        return out;
+    }
+}
@@ -0,0 +1,56 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * {@link EventIndex} with 100,000 events over ten years: what binding a month and editing one event cost.
+ */
+@State(Scope.Thread)
+public class EventBenchmark {
+
+    private static final int EVENTS = 100000;
+
+    private final int[] counts = new int[30];
+    private EventIndex events;
+    private int firstAbs;
+    private int month;
+    private int edited;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(5786);
+        firstAbs = HebrewCalendarMath.toAbs(5786, JewishCalendar.TISHREI, 1);
+        int[] dates = new int[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            dates[i] = HebrewDate.fromAbs(firstAbs + random.nextInt(3650));
+        }
+        events = new EventIndex(dates);
+        month = HebrewDate.of(5786, JewishCalendar.TISHREI, 1);
+        edited = HebrewDate.of(5790, JewishCalendar.NISSAN, 15);
+    }
+
+    /** The counts of one month, as a month page is bound. */
+    @Benchmark
+    public int monthCounts() {
+        month = HebrewDate.plusMonths(month, 1);
+        if (HebrewDate.year(month) > 5795) {
+            month = HebrewDate.of(5786, JewishCalendar.TISHREI, 1);
+        }
+        return events.getMonthCounts(HebrewDate.year(month), HebrewDate.month(month), counts);
+    }
+
+    /** Inserting and removing one event in the middle of the array. */
+    @Benchmark
+    public boolean addAndRemove() {
+        events.add(edited);
+        return events.remove(edited);
+    }
+}
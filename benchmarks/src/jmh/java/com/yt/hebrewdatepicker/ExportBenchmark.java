@@ -0,0 +1,80 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HebrewCalendarExporter} over a century, reported in days per second.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExportBenchmark {
+
+    private static final int FIRST_YEAR = 5786;
+    private static final int YEARS = 100;
+    // Days from 1 Tishrei 5786 to 29 Elul 5885; a constant, as @OperationsPerInvocation needs one.
+    private static final int DAYS = 36530;
+
+    /** {@code HebrewCalendarExporter.FORMAT_*}: 0 = CSV, 1 = iCalendar. */
+    @Param({"0", "1"})
+    public int format;
+
+    private HebrewCalendarExporter exporter;
+    private final CountingWriter out = new CountingWriter();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        exporter = new HebrewCalendarExporter.Builder().setFormat(format).build();
+        // Computes the holiday and parsha tables once, outside the measurement.
+        exporter.export(HebrewDate.of(FIRST_YEAR, JewishCalendar.TISHREI, 1),
+                HebrewDate.of(FIRST_YEAR + YEARS - 1, JewishCalendar.ELUL, 29), out);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public long exportCentury() throws IOException {
+        exporter.export(HebrewDate.of(FIRST_YEAR, JewishCalendar.TISHREI, 1),
+                HebrewDate.of(FIRST_YEAR + YEARS - 1, JewishCalendar.ELUL, 29), out);
+        return out.count;
+    }
+
+    /** Counts the characters written and drops them, so only the exporter is measured. */
+    private static final class CountingWriter extends Writer {
+        long count;
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
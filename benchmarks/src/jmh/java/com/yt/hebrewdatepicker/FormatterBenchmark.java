@@ -0,0 +1,81 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * {@link HebrewDateFormatter}, called for every cell, year label and suggestion.
+ */
+@State(Scope.Thread)
+public class FormatterBenchmark {
+
+    private static final HebrewDateFormat FORMAT = new HebrewDateFormat.Builder().setYearThousands(true).build();
+
+    private JewishCalendar date;
+    private int packedDate;
+    private int counter;
+    private final StringBuilder buffer = new StringBuilder(32);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        date = new JewishCalendar();
+        packedDate = HebrewDate.from(date);
+    }
+
+    @Benchmark
+    public String toGematriaDay() {
+        counter = counter % 30 + 1;
+        return HebrewDateFormatter.toGematria(counter);
+    }
+
+    @Benchmark
+    public String toGematriaYear() {
+        counter = (counter + 1) % 1000;
+        return HebrewDateFormatter.toGematria(counter);
+    }
+
+    /** Writing into a reused buffer, as the suggestion builder does. */
+    @Benchmark
+    public StringBuilder appendGematriaYear() {
+        counter = (counter + 1) % 1000;
+        buffer.setLength(0);
+        return HebrewDateFormatter.appendGematria(counter, buffer);
+    }
+
+    @Benchmark
+    public StringBuilder appendFormat() {
+        buffer.setLength(0);
+        return HebrewDateFormatter.appendFormat(date, buffer);
+    }
+
+    @Benchmark
+    public String format() {
+        return HebrewDateFormatter.format(date);
+    }
+
+    /** One shared {@link HebrewDateFormat} writing into a per-thread buffer. */
+    @Benchmark
+    public StringBuilder formatToShared() {
+        buffer.setLength(0);
+        return FORMAT.formatTo(packedDate, buffer);
+    }
+
+    /** The same with four threads sharing the format; throughput should scale with the threads. */
+    @Benchmark
+    @Threads(4)
+    public StringBuilder formatToShared4Threads() {
+        buffer.setLength(0);
+        return FORMAT.formatTo(packedDate, buffer);
+    }
+
+    @Benchmark
+    public String formatMonth() {
+        return HebrewDateFormatter.formatMonth(date);
+    }
+}
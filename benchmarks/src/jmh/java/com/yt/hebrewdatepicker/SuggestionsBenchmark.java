@@ -0,0 +1,65 @@
+package com.yt.hebrewdatepicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * The "jump to date" dialog: building the suggestion cache and filtering it per keystroke.
+ */
+@State(Scope.Thread)
+public class SuggestionsBenchmark {
+
+    /** Number of years in the suggestion window; the dialog uses 51. */
+    @Param({"51", "501"})
+    public int years;
+
+    private int year;
+    private MonthSuggestions suggestions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        year = HebrewCalendarMath.yearOfAbs(HebrewCalendarMath.todayAbs());
+        suggestions = MonthSuggestions.build(year, years / 2, years);
+    }
+
+    /** What {@code ensureSuggestionsAreReady()} does the first time the dialog opens. */
+    @Benchmark
+    public MonthSuggestions buildSuggestions() {
+        return MonthSuggestions.build(year, years / 2, years);
+    }
+
+    /** What the suggestion {@code Filter.performFiltering} does on each keystroke. */
+    @Benchmark
+    public List<String> filterSuggestions(Query query) {
+        return suggestions.filter(query.text, 0);
+    }
+
+    /** What the OK button does with the typed text. */
+    @Benchmark
+    public int firstMatch(Query query) {
+        return suggestions.firstMatch(query.text);
+    }
+
+    @Benchmark
+    public int parseGematria(Query query) {
+        return GematriaParser.parse(query.text);
+    }
+
+    @Benchmark
+    public String normalizeHebrew(Query query) {
+        return MonthSuggestions.normalizeHebrew(query.text);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Query {
+        /** What the user has typed so far. */
+        @Param({"א", "אלול", "תשפ\"ה", "אדר ב׳ תשפ״ד"})
+        public String text;
+    }
+}
@@ -0,0 +1,310 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import java.util.Arrays;
+
+/**
+ * The yearly occurrences of a set of Hebrew dates, such as birthdays and yahrzeits.
+ * <p>
+ * Each record's date is classified once, when the index is built, by the rule that moves it in
+ * years where it does not exist as is (30 Cheshvan, 30 Kislev, Adar and Adar II). A query then
+ * computes the month lengths of each year in the range once, places every record in that year
+ * with a few int operations, and sorts the year by a counting pass over its days. Results come
+ * back sorted, in primitive arrays:
+ * <pre>{@code
+ * AnniversaryIndex index = new AnniversaryIndex(deathDates, AnniversaryIndex.KIND_YAHRZEIT);
+ * AnniversaryIndex.Occurrences next = index.getOccurrences(HebrewDate.today(), HebrewDate.plusYears(HebrewDate.today(), 1));
+ * for (int i = 0; i < next.size(); i++) {
+ *     show(next.getRecord(i), next.getDate(i));
+ * }
+ * }</pre>
+ * The rules are the common Ashkenazi ones, as used by Hebcal:
+ * <ul>
+ * <li>An anniversary in Adar of a regular year, or Adar II of a leap year, falls in the last
+ * Adar. One on 30 Adar I falls on 1 Nissan in a regular year. One on 30 Cheshvan or 30 Kislev
+ * falls on the 1st of the next month in years where that month has 29 days.</li>
+ * <li>A yahrzeit on 30 Cheshvan or 30 Kislev falls on the last day of that month if the first
+ * anniversary year did not have a 30th, and otherwise as above. One in Adar II falls in the last
+ * Adar, one on 30 Adar I on 30 Shevat in a regular year, and one in Adar of a regular year on
+ * Adar I in a leap year. There is no yahrzeit in the year of death.</li>
+ * </ul>
+ * Instances are immutable and thread-safe.
+ */
+public final class AnniversaryIndex {
+
+    /** A birthday or other anniversary; it also occurs in its own year, on the date itself. */
+    public static final int KIND_ANNIVERSARY = 0;
+    /** A yahrzeit; it first occurs in the year after the date. */
+    public static final int KIND_YAHRZEIT = 1;
+
+    // How a record moves in a given year; chosen once per record.
+    private static final int RULE_SAME = 0;
+    /** Adar in a regular year, or Adar II: Adar II in a leap year, Adar otherwise. */
+    private static final int RULE_LAST_ADAR = 1;
+    /** 30 Cheshvan, or 1 Kislev in a year without one. */
+    private static final int RULE_CHESHVAN_30 = 2;
+    /** 30 Kislev, or 1 Tevet in a year without one. */
+    private static final int RULE_KISLEV_30 = 3;
+    /** 30 Adar I, or 1 Nissan in a regular year. */
+    private static final int RULE_ADAR_I_30_TO_NISSAN = 4;
+    /** 30 Adar I, or 30 Shevat in a regular year. */
+    private static final int RULE_ADAR_I_30_TO_SHEVAT = 5;
+    /** The last day of Cheshvan, 29 or 30. */
+    private static final int RULE_LAST_OF_CHESHVAN = 6;
+    /** The last day of Kislev, 29 or 30. */
+    private static final int RULE_LAST_OF_KISLEV = 7;
+
+    private static final int MAX_DAYS_IN_YEAR = 385;
+
+    /** The year of each record's date. */
+    private final int[] years;
+    /** The first year each record occurs in. */
+    private final int[] firstYears;
+    /** Each record's rule, month and day, packed as {@code rule << 9 | month << 5 | day}. */
+    private final int[] rules;
+
+    /**
+     * @param dates The {@link HebrewDate} of each record.
+     * @param kind {@link #KIND_ANNIVERSARY} or {@link #KIND_YAHRZEIT}, for every record.
+     */
+    public AnniversaryIndex(int[] dates, int kind) {
+        this(dates, null, kind);
+    }
+
+    /**
+     * @param dates The {@link HebrewDate} of each record.
+     * @param kinds The kind of each record, {@link #KIND_ANNIVERSARY} or {@link #KIND_YAHRZEIT}.
+     */
+    public AnniversaryIndex(int[] dates, int[] kinds) {
+        this(dates, kinds, KIND_ANNIVERSARY);
+    }
+
+    private AnniversaryIndex(int[] dates, int[] kinds, int kind) {
+        if (kinds != null && kinds.length < dates.length) {
+            throw new IllegalArgumentException("kinds holds " + kinds.length + " records, need " + dates.length);
+        }
+        int n = dates.length;
+        years = new int[n];
+        firstYears = new int[n];
+        rules = new int[n];
+        for (int i = 0; i < n; i++) {
+            int date = dates[i];
+            int recordKind = kinds != null ? kinds[i] : kind;
+            int year = HebrewDate.year(date);
+            int month = HebrewDate.month(date);
+            int day = HebrewDate.day(date);
+            years[i] = year;
+            firstYears[i] = recordKind == KIND_YAHRZEIT ? year + 1 : year;
+            int rule = recordKind == KIND_YAHRZEIT ? yahrzeitRule(year, month, day) : anniversaryRule(year, month, day);
+            rules[i] = rule << 9 | month << 5 | day;
+        }
+    }
+
+    /** @return The number of records. */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * @param record The index of a record, as passed to the constructor.
+     * @param year A Hebrew year.
+     * @return The record's date in {@code year}, as a {@link HebrewDate}, or 0 if it does not
+     *         occur that year (before its first year).
+     */
+    public int getOccurrence(int record, int year) {
+        if (year < firstYears[record]) return 0;
+        if (year == years[record]) return HebrewDate.of(year, monthOf(rules[record]), dayOf(rules[record]));
+        return place(rules[record], year, new YearShape(year));
+    }
+
+    /**
+     * Lists every occurrence of every record between two dates, sorted by date. Records that fall
+     * on the same day keep the order they were given in.
+     * @param from The first {@link HebrewDate}, inclusive.
+     * @param to The last {@link HebrewDate}, inclusive.
+     */
+    public Occurrences getOccurrences(int from, int to) {
+        int n = rules.length;
+        int[] dates = new int[Math.max(16, n)];
+        int[] records = new int[dates.length];
+        int size = 0;
+        // Per-year scratch, reused for every year of the range.
+        int[] yearDates = new int[n];
+        int[] yearDays = new int[n];
+        int[] counts = new int[MAX_DAYS_IN_YEAR + 1];
+        for (int year = HebrewDate.year(from), last = HebrewDate.year(to); year <= last; year++) {
+            YearShape shape = new YearShape(year);
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                int date;
+                if (year < firstYears[i]) {
+                    date = 0;
+                } else if (year == years[i]) {
+                    date = HebrewDate.of(year, monthOf(rules[i]), dayOf(rules[i]));
+                } else {
+                    date = place(rules[i], year, shape);
+                }
+                if (date != 0 && (HebrewDate.compare(date, from) < 0 || HebrewDate.compare(date, to) > 0)) {
+                    date = 0;
+                }
+                yearDates[i] = date;
+                if (date != 0) {
+                    int dayOfYear = shape.monthStarts[HebrewDate.month(date)] + HebrewDate.day(date) - 1;
+                    yearDays[i] = dayOfYear;
+                    counts[dayOfYear + 1]++;
+                }
+            }
+            // Counting sort by day of the year: counts[d] becomes the first output slot of day d.
+            int total = 0;
+            for (int d = 1; d <= MAX_DAYS_IN_YEAR; d++) {
+                total += counts[d];
+                counts[d] = total;
+            }
+            if (size + total > dates.length) {
+                int capacity = Math.max(size + total, dates.length * 2);
+                dates = Arrays.copyOf(dates, capacity);
+                records = Arrays.copyOf(records, capacity);
+            }
+            for (int i = 0; i < n; i++) {
+                if (yearDates[i] == 0) continue;
+                int slot = size + counts[yearDays[i]]++;
+                dates[slot] = yearDates[i];
+                records[slot] = i;
+            }
+            size += total;
+        }
+        return new Occurrences(Arrays.copyOf(dates, size), Arrays.copyOf(records, size));
+    }
+
+    /** The occurrences found by {@link #getOccurrences(int, int)}, sorted by date. */
+    public static final class Occurrences {
+        private final int[] dates;
+        private final int[] records;
+
+        Occurrences(int[] dates, int[] records) {
+            this.dates = dates;
+            this.records = records;
+        }
+
+        public int size() {
+            return dates.length;
+        }
+
+        /** @return The {@link HebrewDate} of the occurrence at {@code index}. */
+        public int getDate(int index) {
+            return dates[index];
+        }
+
+        /** @return The record, by its index in the constructor's array, of the occurrence at {@code index}. */
+        public int getRecord(int index) {
+            return records[index];
+        }
+
+        /** @return A copy of every occurrence's {@link HebrewDate}, in order. */
+        public int[] getDates() {
+            return dates.clone();
+        }
+
+        /** @return A copy of every occurrence's record, in order. */
+        public int[] getRecords() {
+            return records.clone();
+        }
+    }
+
+    private static int anniversaryRule(int year, int month, int day) {
+        boolean leap = HebrewCalendarMath.isLeapYear(year);
+        if ((month == JewishCalendar.ADAR && !leap) || month == JewishCalendar.ADAR_II) return RULE_LAST_ADAR;
+        if (month == JewishCalendar.CHESHVAN && day == 30) return RULE_CHESHVAN_30;
+        if (month == JewishCalendar.KISLEV && day == 30) return RULE_KISLEV_30;
+        if (month == JewishCalendar.ADAR && day == 30) return RULE_ADAR_I_30_TO_NISSAN;
+        return RULE_SAME;
+    }
+
+    private static int yahrzeitRule(int year, int month, int day) {
+        // The 30th of Cheshvan or Kislev follows the first anniversary year.
+        if (month == JewishCalendar.CHESHVAN && day == 30) {
+            return HebrewCalendarMath.yearType(year + 1) == HebrewCalendarMath.COMPLETE
+                    ? RULE_CHESHVAN_30 : RULE_LAST_OF_CHESHVAN;
+        }
+        if (month == JewishCalendar.KISLEV && day == 30) {
+            return HebrewCalendarMath.yearType(year + 1) == HebrewCalendarMath.DEFICIENT
+                    ? RULE_LAST_OF_KISLEV : RULE_KISLEV_30;
+        }
+        if (month == JewishCalendar.ADAR_II) return RULE_LAST_ADAR;
+        if (month == JewishCalendar.ADAR && day == 30) return RULE_ADAR_I_30_TO_SHEVAT;
+        return RULE_SAME;
+    }
+
+    /** @return The date a record falls on in {@code year}, which is after the record's own year. */
+    private static int place(int packedRule, int year, YearShape shape) {
+        int month = monthOf(packedRule);
+        int day = dayOf(packedRule);
+        switch (packedRule >>> 9) {
+            case RULE_LAST_ADAR:
+                month = shape.leap ? JewishCalendar.ADAR_II : JewishCalendar.ADAR;
+                break;
+            case RULE_CHESHVAN_30:
+                if (shape.cheshvanDays < 30) {
+                    month = JewishCalendar.KISLEV;
+                    day = 1;
+                }
+                break;
+            case RULE_KISLEV_30:
+                if (shape.kislevDays < 30) {
+                    month = JewishCalendar.TEVES;
+                    day = 1;
+                }
+                break;
+            case RULE_ADAR_I_30_TO_NISSAN:
+                if (!shape.leap) {
+                    month = JewishCalendar.NISSAN;
+                    day = 1;
+                }
+                break;
+            case RULE_ADAR_I_30_TO_SHEVAT:
+                if (!shape.leap) {
+                    month = JewishCalendar.SHEVAT;
+                }
+                break;
+            case RULE_LAST_OF_CHESHVAN:
+                day = shape.cheshvanDays;
+                break;
+            case RULE_LAST_OF_KISLEV:
+                day = shape.kislevDays;
+                break;
+            default:
+                break;
+        }
+        return HebrewDate.of(year, month, day);
+    }
+
+    private static int monthOf(int packedRule) {
+        return (packedRule >>> 5) & 0xF;
+    }
+
+    private static int dayOf(int packedRule) {
+        return packedRule & 0x1F;
+    }
+
+    /** The month lengths of one year, computed once per year of a query. */
+    private static final class YearShape {
+        final boolean leap;
+        final int cheshvanDays;
+        final int kislevDays;
+        /** The day of the year each month starts on, indexed by {@link JewishCalendar} month constant. */
+        final int[] monthStarts = new int[JewishCalendar.ADAR_II + 1];
+
+        YearShape(int year) {
+            leap = HebrewCalendarMath.isLeapYear(year);
+            cheshvanDays = HebrewCalendarMath.daysInMonth(year, JewishCalendar.CHESHVAN);
+            kislevDays = HebrewCalendarMath.daysInMonth(year, JewishCalendar.KISLEV);
+            int days = 0;
+            for (int i = 0, count = HebrewCalendarMath.monthCount(year); i < count; i++) {
+                int month = HebrewCalendarMath.monthAt(year, i);
+                monthStarts[month] = days;
+                days += HebrewCalendarMath.daysInMonth(year, month);
+            }
+        }
+    }
+}
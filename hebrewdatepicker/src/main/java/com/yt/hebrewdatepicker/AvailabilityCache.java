@@ -0,0 +1,252 @@
+package com.yt.hebrewdatepicker;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A small, bounded LRU cache of the bitsets returned by a {@link DateAvailabilityProvider},
+ * keyed by (year, month).
+ * <p>
+ * Like {@link MonthGridCache}, it is a fixed set of slots scanned linearly, so a lookup never
+ * allocates, and the provider is called outside the lock. Each picker dialog has its own
+ * instance, since each has its own provider.
+ * <p>
+ * After {@link #setAsync}, a miss does not call the provider on the calling thread: it returns
+ * {@link #PENDING} and queues a load on the given executor. A month that is already loading is
+ * not queued again, and a queued load whose month has left the range given to
+ * {@link #setWantedMonths(int, int)} is dropped without calling the provider, so paging quickly
+ * through many months only loads the ones the user stops at.
+ */
+final class AvailabilityCache {
+
+    /** Returned while a month's answer is being loaded. */
+    static final int PENDING = -1;
+    /** The bits that can stand for a day; anything above day 30 is ignored. */
+    private static final int ALL_DAYS = (1 << 30) - 1;
+    private static final int DEFAULT_CAPACITY = 24;
+
+    /** Told on the result executor when a month's answer has arrived. */
+    interface OnLoadedListener {
+        /** @param month The month, using the {@code JewishCalendar} constants. */
+        void onAvailabilityLoaded(int year, int month);
+    }
+
+    private final DateAvailabilityProvider provider;
+    private final int[] keys;
+    /** The answer of each slot, or {@link #PENDING} while it loads. */
+    private final int[] masks;
+    private final long[] lastUsed;
+    /**
+     * Bumped whenever a slot's answer is dropped or replaced: on eviction, reuse and invalidation.
+     * A load only stores its answer if the generation it started with is still current, so a
+     * load that was overtaken by an invalidation can never overwrite the newer answer.
+     */
+    private final int[] generations;
+    private long clock;
+
+    private Executor loadExecutor;
+    private Executor resultExecutor;
+    private OnLoadedListener onLoadedListener;
+    /** The months still worth loading, as {@link HebrewDate} month starts. */
+    private int wantedFrom = 0;
+    private int wantedTo = Integer.MAX_VALUE;
+
+    AvailabilityCache(DateAvailabilityProvider provider) {
+        this(provider, DEFAULT_CAPACITY);
+    }
+
+    AvailabilityCache(DateAvailabilityProvider provider, int capacity) {
+        this.provider = provider;
+        keys = new int[capacity];
+        masks = new int[capacity];
+        lastUsed = new long[capacity];
+        generations = new int[capacity];
+    }
+
+    /**
+     * Loads missing months on {@code loadExecutor} from now on, instead of on the calling thread.
+     * @param resultExecutor Where {@code listener} is called, usually the main thread.
+     */
+    synchronized void setAsync(Executor loadExecutor, Executor resultExecutor, OnLoadedListener listener) {
+        this.loadExecutor = loadExecutor;
+        this.resultExecutor = resultExecutor;
+        this.onLoadedListener = listener;
+    }
+
+    /**
+     * Limits loading to the months from {@code from} to {@code to}, both {@link HebrewDate}s.
+     * Queued loads of other months are dropped when their turn comes.
+     */
+    synchronized void setWantedMonths(int from, int to) {
+        wantedFrom = from;
+        wantedTo = to;
+    }
+
+    /**
+     * @return The blocked days of a month. On a miss the provider is asked on this thread, or,
+     *         after {@link #setAsync}, a load is queued and {@link #PENDING} is returned.
+     */
+    int get(int year, int month) {
+        int key = HebrewCalendarMath.packMonth(year, month);
+        Executor executor;
+        int slot;
+        int generation = 0;
+        synchronized (this) {
+            slot = slotOf(key);
+            if (slot >= 0) {
+                lastUsed[slot] = ++clock;
+                return masks[slot];
+            }
+            executor = loadExecutor;
+            if (executor != null) {
+                // Claim the month, so that further requests join this load.
+                slot = put(key, PENDING);
+                generation = generations[slot];
+            }
+        }
+        if (executor == null) {
+            int mask = provider.getUnavailableDays(year, month) & ALL_DAYS;
+            synchronized (this) {
+                put(key, mask);
+            }
+            return mask;
+        }
+        int claimedSlot = slot;
+        int claimedGeneration = generation;
+        executor.execute(() -> load(key, year, month, claimedSlot, claimedGeneration));
+        return PENDING;
+    }
+
+    /** @param slot The slot claimed for the month, still ours while it has {@code generation}. */
+    private void load(int key, int year, int month, int slot, int generation) {
+        synchronized (this) {
+            int date = HebrewDate.of(year, month, 1);
+            if (HebrewDate.compareMonths(date, wantedFrom) < 0 || HebrewDate.compareMonths(date, wantedTo) > 0) {
+                // The user has moved on; the next request for this month queues a new load.
+                removeClaim(key, slot, generation);
+                return;
+            }
+        }
+        int mask;
+        try {
+            mask = provider.getUnavailableDays(year, month) & ALL_DAYS;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                removeClaim(key, slot, generation);
+            }
+            throw e;
+        }
+        Executor executor;
+        OnLoadedListener listener;
+        synchronized (this) {
+            if (!isClaimed(key, slot, generation)) {
+                return; // invalidated, evicted or claimed again while loading
+            }
+            masks[slot] = mask;
+            executor = resultExecutor;
+            listener = onLoadedListener;
+        }
+        if (executor != null && listener != null) {
+            executor.execute(() -> listener.onAvailabilityLoaded(year, month));
+        }
+    }
+
+    /** @return The number of months the cache holds. */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Copies the months whose answer has arrived, without loading anything or changing which
+     * months are evicted next.
+     * @param months Receives each month, packed with {@link HebrewCalendarMath#packMonth(int, int)}.
+     * @param knownMasks Receives each month's blocked days.
+     * @return The number of months copied, at most {@link #capacity()}.
+     */
+    synchronized int copyKnown(int[] months, int[] knownMasks) {
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && masks[i] != PENDING) {
+                months[count] = keys[i];
+                knownMasks[count] = masks[i];
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Whether the answers of every month from {@code fromMonth} to {@code toMonth}, both
+     *         {@link HebrewDate}s, are in the cache, so that counting over them with
+     *         {@link #copyKnown(int[], int[])} is complete. Always {@code false} for more months
+     *         than the cache holds.
+     */
+    synchronized boolean isKnown(int fromMonth, int toMonth) {
+        if (HebrewDate.monthsBetween(fromMonth, toMonth) >= keys.length) return false;
+        for (int month = HebrewDate.monthStart(fromMonth); HebrewDate.compareMonths(month, toMonth) <= 0;
+             month = HebrewDate.plusMonths(month, 1)) {
+            int slot = slotOf(HebrewCalendarMath.packMonth(HebrewDate.year(month), HebrewDate.month(month)));
+            if (slot < 0 || masks[slot] == PENDING) return false;
+        }
+        return true;
+    }
+
+    /** Drops the cached answer for one month, so the provider is asked again. */
+    synchronized void invalidate(int year, int month) {
+        int slot = slotOf(HebrewCalendarMath.packMonth(year, month));
+        if (slot >= 0) {
+            clear(slot);
+        }
+    }
+
+    /** Drops every cached answer. */
+    synchronized void invalidateAll() {
+        for (int i = 0; i < keys.length; i++) {
+            clear(i);
+        }
+    }
+
+    private boolean isClaimed(int key, int slot, int generation) {
+        return keys[slot] == key && generations[slot] == generation && masks[slot] == PENDING;
+    }
+
+    private void removeClaim(int key, int slot, int generation) {
+        if (isClaimed(key, slot, generation)) {
+            clear(slot);
+        }
+    }
+
+    private void clear(int slot) {
+        keys[slot] = 0;
+        lastUsed[slot] = 0;
+        generations[slot]++;
+    }
+
+    private int slotOf(int key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** @return The slot the answer was stored in. */
+    private int put(int key, int mask) {
+        // Overwrite an answer for the same month, otherwise evict the least recently used one.
+        int slot = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) {
+                slot = i;
+                break;
+            }
+            if (lastUsed[i] < lastUsed[slot]) {
+                slot = i;
+            }
+        }
+        keys[slot] = key;
+        masks[slot] = mask;
+        lastUsed[slot] = ++clock;
+        generations[slot]++;
+        return slot;
+    }
+}
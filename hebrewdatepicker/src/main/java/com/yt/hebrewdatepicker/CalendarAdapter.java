@@ -1,82 +1,283 @@
 package com.yt.hebrewdatepicker;
 
-import android.graphics.Paint;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
-import java.util.ArrayList;
 
-public class CalendarAdapter extends RecyclerView.Adapter<CalendarAdapter.CalendarViewHolder> {
+import java.util.ArrayList;
+import java.util.List;
 
-    public static class DayData {
-        final String dayText;
-        final boolean isDisabled;
+/**
+ * Shows one month as a list of immutable {@link DayData} cells.
+ * <p>
+ * New months and selection changes are submitted as new lists and diffed on a background
+ * thread by {@link ListAdapter}. Cells are identified by their day of month, so moving to
+ * another month only rebinds the cells whose label or state changed, and a change of selection
+ * or disabled state is applied as a partial bind through a payload. Days with app events
+ * show their count in a small badge, see {@link EventIndex}.
+ */
+public class CalendarAdapter extends ListAdapter<CalendarAdapter.DayData, CalendarAdapter.CalendarViewHolder> {
 
-        DayData(String dayText, boolean isDisabled) {
-            this.dayText = dayText;
-            this.isDisabled = isDisabled;
-        }
-    }
+    /** Payload: only {@link DayData#selected} or {@link DayData#inRange} changed. */
+    static final int PAYLOAD_SELECTION = 1;
+    /** Payload: only {@link DayData#disabled} or {@link DayData#pending} changed. */
+    static final int PAYLOAD_STATE = 1 << 1;
+    /** Payload: only {@link DayData#eventCount} changed. */
+    static final int PAYLOAD_EVENTS = 1 << 2;
 
-    private final ArrayList<DayData> daysOfMonth;
     private final OnItemListener onItemListener;
     private int selectedPosition = -1;
+    // The last list submitted; getCurrentList() lags behind it while a diff is running.
+    private List<DayData> cells = new ArrayList<>();
 
-    public CalendarAdapter(ArrayList<DayData> daysOfMonth, OnItemListener onItemListener) {
-        this.daysOfMonth = (daysOfMonth == null) ? new ArrayList<>() : daysOfMonth;
+    public CalendarAdapter(OnItemListener onItemListener) {
+        super(DIFF_CALLBACK);
         this.onItemListener = onItemListener;
+        setHasStableIds(true);
+    }
+
+    /** @deprecated Use {@link #CalendarAdapter(OnItemListener)} and {@link #setMonthGrid(MonthGrid, int)}. */
+    @Deprecated
+    public CalendarAdapter(ArrayList<DayData> daysOfMonth, OnItemListener onItemListener) {
+        this(onItemListener);
+        if (daysOfMonth != null) updateDays(daysOfMonth);
     }
 
+    /**
+     * Replaces the cells, keeping the selected position. Cells with an empty label are empty
+     * cells; the others are numbered as days of the month in order, starting from 1.
+     * @deprecated Use {@link #setMonthGrid(MonthGrid, int)}.
+     */
+    @Deprecated
     public void updateDays(ArrayList<DayData> newDays) {
-        daysOfMonth.clear();
-        daysOfMonth.addAll(newDays);
-        notifyDataSetChanged();
+        List<DayData> list = new ArrayList<>(newDays.size());
+        int day = 0;
+        for (int position = 0; position < newDays.size(); position++) {
+            DayData data = newDays.get(position);
+            boolean empty = data.label.isEmpty();
+            if (!empty) day++;
+            list.add(new DayData(empty ? 0 : day, empty ? -1 - position : day, data.label, data.disabled, data.pending,
+                    position == selectedPosition, data.inRange, data.eventCount));
+        }
+        submit(list);
+    }
+
+    /**
+     * One cell of the month grid. A leading empty cell has {@code day == 0}.
+     */
+    public static final class DayData {
+        final int day;
+        /** Stable across months: the day of month, or a negative number for an empty cell. */
+        final long id;
+        final String label;
+        final boolean disabled;
+        /** The app's blocked days are still loading; shown faded and not selectable. */
+        final boolean pending;
+        /** The selected day, or either end of a selected range. */
+        final boolean selected;
+        /** Strictly inside a selected range. */
+        final boolean inRange;
+        /** The number of app events on the day, shown as a badge. */
+        final int eventCount;
+
+        DayData(int day, long id, String label, boolean disabled, boolean pending, boolean selected, boolean inRange,
+                int eventCount) {
+            this.day = day;
+            this.id = id;
+            this.label = label;
+            this.disabled = disabled;
+            this.pending = pending;
+            this.selected = selected;
+            this.inRange = inRange;
+            this.eventCount = eventCount;
+        }
+
+        /**
+         * @deprecated For {@link CalendarAdapter#updateDays(ArrayList)}. Stores only the label and
+         * disabled state; the day and id stay 0 until updateDays numbers the cell.
+         */
+        @Deprecated
+        DayData(String dayText, boolean isDisabled) {
+            this(0, 0, dayText, isDisabled, false, false, false, 0);
+        }
+
+        DayData withSelected(boolean selected) {
+            return selected == this.selected ? this : new DayData(day, id, label, disabled, pending, selected, inRange, eventCount);
+        }
+
+        boolean isSelectable() {
+            return day != 0 && !disabled && !pending;
+        }
+    }
+
+    private static final DiffUtil.ItemCallback<DayData> DIFF_CALLBACK = new DiffUtil.ItemCallback<DayData>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull DayData oldItem, @NonNull DayData newItem) {
+            return oldItem.id == newItem.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull DayData oldItem, @NonNull DayData newItem) {
+            return oldItem.label.equals(newItem.label)
+                    && oldItem.disabled == newItem.disabled
+                    && oldItem.pending == newItem.pending
+                    && oldItem.selected == newItem.selected
+                    && oldItem.inRange == newItem.inRange
+                    && oldItem.eventCount == newItem.eventCount;
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull DayData oldItem, @NonNull DayData newItem) {
+            if (!oldItem.label.equals(newItem.label)) return null; // full rebind
+            int payload = 0;
+            if (oldItem.selected != newItem.selected || oldItem.inRange != newItem.inRange) payload |= PAYLOAD_SELECTION;
+            if (oldItem.disabled != newItem.disabled || oldItem.pending != newItem.pending) payload |= PAYLOAD_STATE;
+            if (oldItem.eventCount != newItem.eventCount) payload |= PAYLOAD_EVENTS;
+            return payload;
+        }
+    };
+
+    /**
+     * Shows a month. The grid is immutable and usually comes from {@link MonthGridCache}.
+     * @param selectedDay The selected day of this month, or 0 if the selection is in another month.
+     */
+    void setMonthGrid(MonthGrid grid, int selectedDay) {
+        setMonthGrid(grid, selectedDay, null);
+    }
+
+    /**
+     * Shows a month with event badges.
+     * @param eventCounts The number of events on each day at {@code day - 1}, as filled by
+     *                    {@link EventIndex#getMonthCounts(int, int, int[])}, or null for none.
+     *                    Read here and not kept.
+     */
+    void setMonthGrid(MonthGrid grid, int selectedDay, int[] eventCounts) {
+        int selectedAbs = selectedDay == 0 ? 0 : grid.firstAbs + selectedDay - 1;
+        setMonthGrid(grid, selectedAbs, selectedAbs, eventCounts);
+    }
+
+    /**
+     * Shows a month with a selected range, which may start or end in other months. Both ends
+     * are shown as selected and the days between them as in range; a single selected day is a
+     * range that starts and ends on it.
+     * @param rangeStartAbs The absolute day the range starts on, or 0 for no selection.
+     * @param rangeEndAbs The absolute day the range ends on, not before {@code rangeStartAbs}.
+     * @param eventCounts As in {@link #setMonthGrid(MonthGrid, int, int[])}.
+     */
+    void setMonthGrid(MonthGrid grid, int rangeStartAbs, int rangeEndAbs, int[] eventCounts) {
+        int startDay = rangeStartAbs - grid.firstAbs + 1;
+        selectedPosition = rangeStartAbs != 0 && rangeStartAbs == rangeEndAbs && startDay >= 1 && startDay <= grid.dayCount
+                ? grid.getPositionOf(startDay) : -1;
+        int count = grid.getCellCount();
+        List<DayData> list = new ArrayList<>(count);
+        for (int position = 0; position < count; position++) {
+            int day = grid.getDayAt(position);
+            long id = day == 0 ? -1 - position : day;
+            int abs = day == 0 ? 0 : grid.firstAbs + day - 1;
+            boolean selected = abs != 0 && (abs == rangeStartAbs || abs == rangeEndAbs);
+            boolean inRange = abs > rangeStartAbs && abs < rangeEndAbs;
+            list.add(new DayData(day, id, grid.getLabelAt(position), day != 0 && grid.isDisabled(day),
+                    day != 0 && grid.isPending(day), selected, inRange,
+                    day != 0 && eventCounts != null ? eventCounts[day - 1] : 0));
+        }
+        submit(list);
+    }
+
+    /** Moves a single selected day; a selected range is replaced with {@link #setMonthGrid(MonthGrid, int, int, int[])}. */
+    public void setSelectedPosition(int position) {
+        if (selectedPosition == position) return;
+        List<DayData> list = new ArrayList<>(cells);
+        if (selectedPosition >= 0 && selectedPosition < list.size()) {
+            list.set(selectedPosition, list.get(selectedPosition).withSelected(false));
+        }
+        if (position >= 0 && position < list.size()) {
+            list.set(position, list.get(position).withSelected(true));
+        }
+        selectedPosition = position;
+        submit(list);
+    }
+
+    private void submit(List<DayData> list) {
+        cells = list;
+        submitList(list);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).id;
     }
 
     @NonNull
     @Override
     public CalendarViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.calendar_day_item, parent, false);
-        return new CalendarViewHolder(view, onItemListener, daysOfMonth);
+        return new CalendarViewHolder(view, this);
     }
 
     @Override
     public void onBindViewHolder(@NonNull CalendarViewHolder holder, int position) {
-        DayData dayData = daysOfMonth.get(position);
-        holder.dayOfMonth.setText(dayData.dayText);
+        DayData data = getItem(position);
+        holder.dayOfMonth.setText(data.label);
 
-        if (dayData.dayText.isEmpty()) {
+        if (data.day == 0) {
             holder.itemView.setClickable(false);
             holder.dayOfMonth.setVisibility(View.INVISIBLE);
         } else {
             holder.dayOfMonth.setVisibility(View.VISIBLE);
-            if (dayData.isDisabled) {
-                holder.itemView.setClickable(false);
-                holder.dayOfMonth.setAlpha(0.4f);
-//                holder.dayOfMonth.setPaintFlags(holder.dayOfMonth.getPaintFlags() | Paint.STRIKE_THRU_TEXT_FLAG);
-            } else {
-                holder.itemView.setClickable(true);
-                holder.dayOfMonth.setAlpha(1.0f);
-//                holder.dayOfMonth.setPaintFlags(holder.dayOfMonth.getPaintFlags() & (~Paint.STRIKE_THRU_TEXT_FLAG));
-            }
+            bindState(holder, data);
         }
-        holder.itemView.setSelected(position == selectedPosition);
+        bindEvents(holder, data);
+        bindSelection(holder, data);
     }
 
     @Override
-    public int getItemCount() {
-        return daysOfMonth.size();
+    public void onBindViewHolder(@NonNull CalendarViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        DayData data = getItem(position);
+        int changes = 0;
+        for (Object payload : payloads) {
+            changes |= (Integer) payload;
+        }
+        if ((changes & PAYLOAD_STATE) != 0 && data.day != 0) {
+            bindState(holder, data);
+        }
+        if ((changes & PAYLOAD_SELECTION) != 0) {
+            bindSelection(holder, data);
+        }
+        if ((changes & PAYLOAD_EVENTS) != 0) {
+            bindEvents(holder, data);
+        }
     }
 
-    public void setSelectedPosition(int position) {
-        if (selectedPosition == position) return;
-        int oldPosition = selectedPosition;
-        selectedPosition = position;
-        if (oldPosition != -1) notifyItemChanged(oldPosition);
-        if (selectedPosition != -1) notifyItemChanged(selectedPosition);
+    private static void bindState(CalendarViewHolder holder, DayData data) {
+        holder.itemView.setClickable(data.isSelectable());
+        holder.dayOfMonth.setAlpha(data.disabled ? 0.4f : data.pending ? 0.7f : 1.0f);
+    }
+
+    private static void bindSelection(CalendarViewHolder holder, DayData data) {
+        holder.itemView.setSelected(data.selected);
+        // The day background shows the in-range highlight for the activated state.
+        holder.dayOfMonth.setActivated(data.inRange);
+    }
+
+    private static void bindEvents(CalendarViewHolder holder, DayData data) {
+        String label = EventIndex.formatCount(data.eventCount);
+        if (label == null) {
+            holder.eventCount.setVisibility(View.GONE);
+        } else {
+            holder.eventCount.setText(label);
+            holder.eventCount.setVisibility(View.VISIBLE);
+        }
     }
 
     public interface OnItemListener {
@@ -85,26 +286,26 @@ public class CalendarAdapter extends RecyclerView.Adapter<CalendarAdapter.Calend
 
     static class CalendarViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
         public final TextView dayOfMonth;
-        private final OnItemListener onItemListener;
-        private final ArrayList<DayData> daysRef;
+        final TextView eventCount;
+        private final CalendarAdapter adapter;
 
-        public CalendarViewHolder(@NonNull View itemView, OnItemListener onItemListener, ArrayList<DayData> daysRef) {
+        public CalendarViewHolder(@NonNull View itemView, CalendarAdapter adapter) {
             super(itemView);
             dayOfMonth = itemView.findViewById(R.id.tv_day_text);
-            this.onItemListener = onItemListener;
-            this.daysRef = daysRef;
+            eventCount = itemView.findViewById(R.id.tv_event_count);
+            this.adapter = adapter;
             itemView.setOnClickListener(this);
         }
 
         @Override
         public void onClick(View view) {
             int position = getAdapterPosition();
-            if (onItemListener != null && position != RecyclerView.NO_POSITION) {
-                DayData dayData = daysRef.get(position);
-                if (!dayData.dayText.isEmpty() && !dayData.isDisabled) {
-                    onItemListener.onItemClick(position);
+            if (adapter.onItemListener != null && position != RecyclerView.NO_POSITION) {
+                DayData data = adapter.getItem(position);
+                if (data.isSelectable()) {
+                    adapter.onItemListener.onItemClick(position);
                 }
             }
         }
     }
-}
\ No newline at end of file
+}
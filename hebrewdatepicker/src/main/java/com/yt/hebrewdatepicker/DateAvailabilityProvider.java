@@ -0,0 +1,35 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+/**
+ * Supplies the days an app wants to block in the picker, one whole month at a time.
+ * <p>
+ * The picker asks once per month and caches the answer (see
+ * {@link HebrewDatePickerDialog#invalidateAvailability(int, int)} to drop it after the app's
+ * data changes). Blocked days are merged with the built-in past-date and holiday rules.
+ * Implementations may be called from a background thread and must be thread-safe.
+ * <pre>{@code
+ * DateAvailabilityProvider provider = (year, month) -> {
+ *     int blocked = 0;
+ *     for (int day : bookings.fullyBookedDays(year, month)) {
+ *         blocked |= DateAvailabilityProvider.dayBit(day);
+ *     }
+ *     return blocked;
+ * };
+ * }</pre>
+ */
+public interface DateAvailabilityProvider {
+
+    /**
+     * @param year The Hebrew year.
+     * @param month The month, using the {@link JewishCalendar} constants.
+     * @return A bitset of the days to block: bit {@code day - 1} is set for each blocked day.
+     */
+    int getUnavailableDays(int year, int month);
+
+    /** @return The bit of {@code day} in a {@link #getUnavailableDays(int, int)} bitset. */
+    static int dayBit(int day) {
+        return 1 << (day - 1);
+    }
+}
@@ -0,0 +1,168 @@
+package com.yt.hebrewdatepicker;
+
+import java.util.Arrays;
+
+/**
+ * The days that have app events, shown as counts on the picker's day cells.
+ * <p>
+ * Events are kept as one sorted array of {@link HebrewDate} values, one entry per event.
+ * Packed dates sort in calendar order and the days of a month are consecutive values, so a
+ * month is found with two binary searches, and its per-day counts with one more search per day
+ * boundary inside it: a month costs O(log n + days) however many events there are. Single
+ * events are inserted and removed in place, without rebuilding the array:
+ * <pre>{@code
+ * EventIndex events = new EventIndex(eventDates);
+ * events.add(HebrewDate.of(5786, JewishCalendar.KISLEV, 25));
+ * dialog.setEventIndex(events);
+ * }</pre>
+ * Instances are thread-safe. After changing an index that a picker shows, call
+ * {@code HebrewDatePickerDialog.notifyEventsChanged()}.
+ */
+public final class EventIndex {
+
+    private static final int DAY_MASK = 31;
+    /** Below this many events in a month, counting them one by one beats searching per day. */
+    private static final int LINEAR_MONTH_EVENTS = 64;
+    /** Counts from this one up all show the same "99+" label. */
+    static final int OVERFLOW_COUNT = 100;
+    /** Cell labels for counts 1 to 99; larger counts show as "99+". */
+    private static final String[] COUNT_LABELS = new String[OVERFLOW_COUNT];
+
+    static {
+        for (int i = 1; i < COUNT_LABELS.length; i++) {
+            COUNT_LABELS[i] = String.valueOf(i);
+        }
+    }
+
+    private int[] dates;
+    private int size;
+
+    public EventIndex() {
+        dates = new int[16];
+    }
+
+    /** @param dates The {@link HebrewDate} of each event, in any order; the array is copied. */
+    public EventIndex(int[] dates) {
+        this.dates = Arrays.copyOf(dates, Math.max(16, dates.length));
+        this.size = dates.length;
+        Arrays.sort(this.dates, 0, size);
+    }
+
+    /** @return The number of events. */
+    public synchronized int size() {
+        return size;
+    }
+
+    /** Adds one event on {@code date}. */
+    public synchronized void add(int date) {
+        int index = upperBound(date, 0, size);
+        ensureCapacity(size + 1);
+        System.arraycopy(dates, index, dates, index + 1, size - index);
+        dates[index] = date;
+        size++;
+    }
+
+    /**
+     * Adds many events at once: they are sorted and merged in a single pass, which is cheaper
+     * than adding them one by one.
+     * @param added The {@link HebrewDate} of each new event, in any order.
+     */
+    public synchronized void addAll(int[] added) {
+        int[] sorted = added.clone();
+        Arrays.sort(sorted);
+        ensureCapacity(size + sorted.length);
+        // Merge from the back, so nothing is overwritten before it is moved.
+        int i = size - 1;
+        int j = sorted.length - 1;
+        for (int k = size + sorted.length - 1; j >= 0; k--) {
+            dates[k] = i >= 0 && dates[i] > sorted[j] ? dates[i--] : sorted[j--];
+        }
+        size += sorted.length;
+    }
+
+    /**
+     * Removes one event on {@code date}.
+     * @return {@code false} if there was no event on that day.
+     */
+    public synchronized boolean remove(int date) {
+        int index = lowerBound(date, 0, size);
+        if (index == size || dates[index] != date) return false;
+        System.arraycopy(dates, index + 1, dates, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public synchronized void clear() {
+        size = 0;
+    }
+
+    /** @return The number of events on {@code date}. */
+    public synchronized int getCount(int date) {
+        return upperBound(date, 0, size) - lowerBound(date, 0, size);
+    }
+
+    /** @return The number of events from {@code from} to {@code to}, both inclusive. */
+    public synchronized int getCount(int from, int to) {
+        if (HebrewDate.compare(from, to) > 0) return 0;
+        return upperBound(to, 0, size) - lowerBound(from, 0, size);
+    }
+
+    /**
+     * Counts the events on each day of a month.
+     * @param month The month, using the {@link com.kosherjava.zmanim.hebrewcalendar.JewishCalendar} constants.
+     * @param counts Receives the count of each day at {@code day - 1}; at least 30 long. All 30
+     *               entries are written, so the array can be reused.
+     * @return The number of events in the month.
+     */
+    public synchronized int getMonthCounts(int year, int month, int[] counts) {
+        Arrays.fill(counts, 0, 30, 0);
+        // Day 0 of the month, and of the month after it.
+        int base = HebrewDate.of(year, month, 1) & ~DAY_MASK;
+        int from = lowerBound(base + 1, 0, size);
+        int to = lowerBound(base + DAY_MASK + 1, from, size);
+        if (to - from <= LINEAR_MONTH_EVENTS) {
+            for (int i = from; i < to; i++) {
+                counts[(dates[i] & DAY_MASK) - 1]++;
+            }
+        } else {
+            for (int day = 1, start = from; day <= 30 && start < to; day++) {
+                int end = lowerBound(base + day + 1, start, to);
+                counts[day - 1] = end - start;
+                start = end;
+            }
+        }
+        return to - from;
+    }
+
+    /** @return The label shown on a day cell for {@code count} events, or null for none. */
+    static String formatCount(int count) {
+        if (count <= 0) return null;
+        return count < COUNT_LABELS.length ? COUNT_LABELS[count] : "99+";
+    }
+
+    /** @return The first index in {@code [from, to)} whose date is not before {@code date}. */
+    private int lowerBound(int date, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (dates[mid] < date) from = mid + 1;
+            else to = mid;
+        }
+        return from;
+    }
+
+    /** @return The first index in {@code [from, to)} whose date is after {@code date}. */
+    private int upperBound(int date, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (dates[mid] <= date) from = mid + 1;
+            else to = mid;
+        }
+        return from;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > dates.length) {
+            dates = Arrays.copyOf(dates, Math.max(capacity, dates.length + (dates.length >> 1)));
+        }
+    }
+}
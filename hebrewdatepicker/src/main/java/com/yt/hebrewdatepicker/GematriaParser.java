@@ -0,0 +1,208 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+/**
+ * Parses what the user types in the "jump to date" dialog, such as "אלול תשפ״ה", "ה'תשפה" or
+ * "אדר ב׳", into a month and a year.
+ * <p>
+ * Parsing is a single pass over the input and does not depend on the suggestion list, so it
+ * works for any year. Years may be written with or without the thousands (ה׳) and with or
+ * without geresh/gershayim; a year written without thousands is taken to be in the sixth
+ * millennium, as the picker displays it.
+ * <p>
+ * Input that is only the start of a year, such as "אלול תש" or "ה", is not read as a year
+ * (5700, 5005): a year needs a tens letter, three letters, or a closing geresh/gershayim, and a
+ * lone letter up to ט needs the thousands too, as it is usually the thousands being typed. The
+ * dialog looks such input up in the suggestion list instead.
+ */
+final class GematriaParser {
+
+    /** Returned by {@link #parse(CharSequence)} when the input is not a month and/or a year. */
+    static final int INVALID = -1;
+
+    /** The first year JewishCalendar supports; earlier years are rejected as invalid. */
+    static final int MIN_YEAR = 3761;
+
+    /** Gematria value of each letter, indexed by {@code c - 'א'}; 0 for non-letters. */
+    private static final int[] LETTER_VALUES = {
+            1, 2, 3, 4, 5, 6, 7, 8, 9, 10, // א-י
+            20, 20, 30, 40, 40, 50, 50, 60, 70, 80, // ך כ ל ם מ ן נ ס ע ף
+            80, 90, 90, 100, 200, 300, 400 // פ ץ צ ק ר ש ת
+    };
+
+    /** Month names and common spellings, without spaces or geresh marks. */
+    private static final String[] MONTH_NAMES = {
+            "תשרי", "חשון", "חשוון", "מרחשון", "מרחשוון", "כסלו", "כסליו", "טבת", "שבט",
+            "אדר", "אדרא", "אדרראשון", "אדרב", "אדרשני",
+            "ניסן", "אייר", "איר", "סיון", "סיוון", "תמוז", "אב", "מנחםאב", "אלול"
+    };
+    private static final int[] MONTH_VALUES = {
+            JewishCalendar.TISHREI, JewishCalendar.CHESHVAN, JewishCalendar.CHESHVAN, JewishCalendar.CHESHVAN,
+            JewishCalendar.CHESHVAN, JewishCalendar.KISLEV, JewishCalendar.KISLEV, JewishCalendar.TEVES,
+            JewishCalendar.SHEVAT, JewishCalendar.ADAR, JewishCalendar.ADAR, JewishCalendar.ADAR,
+            JewishCalendar.ADAR_II, JewishCalendar.ADAR_II, JewishCalendar.NISSAN, JewishCalendar.IYAR,
+            JewishCalendar.IYAR, JewishCalendar.SIVAN, JewishCalendar.SIVAN, JewishCalendar.TAMMUZ,
+            JewishCalendar.AV, JewishCalendar.AV, JewishCalendar.ELUL
+    };
+
+    private GematriaParser() {
+    }
+
+    /**
+     * Parses a month name, a year, or a month name followed by a year.
+     * @return {@link #INVALID}, or a packed value to read with {@link #yearOf(int)} and {@link #monthOf(int)}.
+     */
+    static int parse(CharSequence input) {
+        int end = input.length();
+        while (end > 0 && Character.isWhitespace(input.charAt(end - 1))) end--;
+        int start = 0;
+        while (start < end && Character.isWhitespace(input.charAt(start))) start++;
+        if (start == end) return INVALID;
+
+        // A month name on its own ("אדר ב" must not read as Adar of the year 2).
+        int month = parseMonth(input, start, end);
+        if (month != 0) return month;
+
+        // Otherwise the last word is the year, optionally preceded by a separate thousands word ("ה' תשפה").
+        int yearStart = end;
+        while (yearStart > start && !Character.isWhitespace(input.charAt(yearStart - 1))) yearStart--;
+        int parsed = parseMonthAndYear(input, start, yearStart, end);
+        if (parsed == INVALID) {
+            int thousandsEnd = yearStart;
+            while (thousandsEnd > start && Character.isWhitespace(input.charAt(thousandsEnd - 1))) thousandsEnd--;
+            int thousandsStart = thousandsEnd;
+            while (thousandsStart > start && !Character.isWhitespace(input.charAt(thousandsStart - 1))) thousandsStart--;
+            if (thousandsStart < thousandsEnd && isThousandsPrefix(input, thousandsStart, thousandsEnd)) {
+                parsed = parseMonthAndYear(input, start, thousandsStart, end);
+            }
+        }
+        return parsed;
+    }
+
+    private static int parseMonthAndYear(CharSequence input, int start, int yearStart, int end) {
+        int year = parseYear(input, yearStart, end);
+        if (year < MIN_YEAR) return INVALID;
+        int monthEnd = yearStart;
+        while (monthEnd > start && Character.isWhitespace(input.charAt(monthEnd - 1))) monthEnd--;
+        int month = 0;
+        if (monthEnd > start) {
+            month = parseMonth(input, start, monthEnd);
+            if (month == 0) return INVALID;
+        }
+        return (year << 4) | month;
+    }
+
+    /** @return The year of a {@link #parse(CharSequence)} result, or 0 if only a month was given. */
+    static int yearOf(int parsed) {
+        return parsed >>> 4;
+    }
+
+    /**
+     * @return The month of a {@link #parse(CharSequence)} result as a JewishCalendar constant, or 0 if
+     *         only a year was given. A plain "אדר" is {@link JewishCalendar#ADAR} (Adar I in a leap year).
+     */
+    static int monthOf(int parsed) {
+        return parsed & 0xF;
+    }
+
+    /**
+     * Parses a year such as "תשפ״ה", "ה'תשפה" or "התשפה".
+     * @return The full year (e.g. 5785), or -1 if the text is not a gematria number
+     *         (letters must appear in descending order of value) or is only the start of one
+     *         (see the class comment).
+     */
+    static int parseYear(CharSequence s, int start, int end) {
+        int thousands = 0;
+        int value = 0;
+        int previous = Integer.MAX_VALUE;
+        int letters = 0;
+        // Letters after the thousands, whether one of them is a tens letter, and whether a mark follows one.
+        int digits = 0;
+        boolean tens = false;
+        boolean marked = false;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (isGeresh(c) || Character.isWhitespace(c)) {
+                // A single geresh right after the first letter, with more letters to come, marks thousands ("ה'תשפה").
+                if (letters == 1 && thousands == 0 && isSingleGeresh(c) && hasLetterAfter(s, i + 1, end)) {
+                    thousands = value;
+                    value = 0;
+                    previous = Integer.MAX_VALUE;
+                    digits = 0;
+                } else if (isGeresh(c) && digits > 0) {
+                    marked = true;
+                }
+                continue;
+            }
+            int v = letterValue(c);
+            if (v == 0) return -1;
+            // Letters are written in descending order, so a first letter smaller than the next is the thousands ("התשפה").
+            if (letters == 1 && thousands == 0 && v > previous && value < 10) {
+                thousands = value;
+                value = 0;
+                digits = 0;
+            } else if (v > previous) {
+                return -1;
+            }
+            value += v;
+            previous = v;
+            letters++;
+            digits++;
+            tens |= v >= 10 && v < 100;
+        }
+        if (letters == 0) return -1;
+        if (thousands == 0 && value >= 1000) return -1;
+        if (!tens && digits < 3 && !marked) return -1;
+        if (thousands == 0 && digits == 1 && value < 10) return -1;
+        return (thousands == 0 ? 5 : thousands) * 1000 + value;
+    }
+
+    /** @return The JewishCalendar month constant for a month name between {@code start} and {@code end}, or 0. */
+    private static int parseMonth(CharSequence s, int start, int end) {
+        for (int m = 0; m < MONTH_NAMES.length; m++) {
+            if (matchesIgnoringMarks(MONTH_NAMES[m], s, start, end)) {
+                return MONTH_VALUES[m];
+            }
+        }
+        return 0;
+    }
+
+    /** Compares {@code name} with {@code s[start, end)}, skipping spaces and geresh marks in {@code s}. */
+    private static boolean matchesIgnoringMarks(String name, CharSequence s, int start, int end) {
+        int j = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (isGeresh(c) || Character.isWhitespace(c)) continue;
+            if (j >= name.length() || name.charAt(j) != c) return false;
+            j++;
+        }
+        return j == name.length();
+    }
+
+    /** A single letter followed by a geresh, such as "ה'". */
+    private static boolean isThousandsPrefix(CharSequence s, int start, int end) {
+        return end - start == 2 && letterValue(s.charAt(start)) > 0 && letterValue(s.charAt(start)) < 10
+                && isSingleGeresh(s.charAt(start + 1));
+    }
+
+    private static boolean hasLetterAfter(CharSequence s, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (letterValue(s.charAt(i)) > 0) return true;
+        }
+        return false;
+    }
+
+    private static int letterValue(char c) {
+        int i = c - 'א';
+        return i >= 0 && i < LETTER_VALUES.length ? LETTER_VALUES[i] : 0;
+    }
+
+    private static boolean isGeresh(char c) {
+        return isSingleGeresh(c) || c == '״' || c == '"';
+    }
+
+    private static boolean isSingleGeresh(char c) {
+        return c == '׳' || c == '\'' || c == '’' || c == '`';
+    }
+}
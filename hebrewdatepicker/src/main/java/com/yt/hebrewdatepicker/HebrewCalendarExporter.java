@@ -0,0 +1,305 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams a range of Hebrew dates, with their holidays and parshiyot, to a {@link Writer} as
+ * CSV or iCalendar.
+ * <p>
+ * The range is walked one day at a time on ints ({@link HebrewDate}, absolute days), with
+ * holidays read from {@link HolidayIndex} and parshiyot from {@link ParshaIndex}, and every
+ * value is written straight to the output. Nothing is allocated per day except holiday names,
+ * which are cached after their first use, so memory stays bounded however long the range is.
+ * <pre>{@code
+ * HebrewCalendarExporter exporter = new HebrewCalendarExporter.Builder()
+ *         .setFormat(HebrewCalendarExporter.FORMAT_ICALENDAR)
+ *         .setInclude(HebrewCalendarExporter.INCLUDE_HOLIDAYS | HebrewCalendarExporter.INCLUDE_PARSHIYOT)
+ *         .build();
+ * exporter.export(HebrewDate.of(5786, JewishCalendar.TISHREI, 1), HebrewDate.of(5886, JewishCalendar.ELUL, 29), outputStream);
+ * }</pre>
+ * An exporter keeps a small cache of holiday names, so use one per thread.
+ */
+public final class HebrewCalendarExporter {
+
+    /** Comma-separated values: a header row, then {@code gregorian,hebrew,holiday,parsha} per day. */
+    public static final int FORMAT_CSV = 0;
+    /** An RFC 5545 calendar with one all-day event per exported item. */
+    public static final int FORMAT_ICALENDAR = 1;
+
+    /** Export every day with its Hebrew date. In CSV, days without a holiday or parsha are kept. */
+    public static final int INCLUDE_DATES = 1;
+    /** Export holiday and fast names. */
+    public static final int INCLUDE_HOLIDAYS = 1 << 1;
+    /** Export the parsha of each Shabbat. */
+    public static final int INCLUDE_PARSHIYOT = 1 << 2;
+    public static final int INCLUDE_ALL = INCLUDE_DATES | INCLUDE_HOLIDAYS | INCLUDE_PARSHIYOT;
+
+    /** Days from the absolute day 0 of {@link HebrewCalendarMath} to 1970-01-01. */
+    private static final int EPOCH_ABS = 719163;
+    private static final int HOLIDAY_CATEGORIES = HolidayIndex.YOM_TOV | HolidayIndex.FAST | HolidayIndex.YOM_KIPPUR;
+    /** Room in the name cache for each yom tov index: its name, then Chanukah's eight days. */
+    private static final int NAMES_PER_INDEX = 9;
+    private static final int MAX_YOM_TOV_INDEX = 63;
+    private static final String PARSHA_PREFIX = "פרשת ";
+
+    private final int format;
+    private final int include;
+    private final boolean inIsrael;
+    private final HebrewDateFormat dateFormat;
+    private final HolidayIndex holidays;
+    private final ParshaIndex parshiyot;
+    // Only used on holidays, to get their names from the library.
+    private final JewishCalendar holidayCalendar = new JewishCalendar();
+    private final com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter holidayFormatter =
+            new com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter();
+    private final String[] holidayNames = new String[(MAX_YOM_TOV_INDEX + 1) * NAMES_PER_INDEX];
+
+    private HebrewCalendarExporter(Builder builder) {
+        this.format = builder.format;
+        this.include = builder.include;
+        this.inIsrael = builder.inIsrael;
+        this.dateFormat = builder.dateFormat;
+        this.holidays = HolidayIndex.getInstance(inIsrael);
+        this.parshiyot = ParshaIndex.getInstance(inIsrael);
+        holidayCalendar.setInIsrael(inIsrael);
+        holidayFormatter.setHebrewFormat(true);
+    }
+
+    public static class Builder {
+        private int format = FORMAT_CSV;
+        private int include = INCLUDE_ALL;
+        private boolean inIsrael = false;
+        private HebrewDateFormat dateFormat = HebrewDateFormat.DEFAULT;
+
+        /** @param format {@link #FORMAT_CSV} (the default) or {@link #FORMAT_ICALENDAR}. */
+        public Builder setFormat(int format) {
+            if (format != FORMAT_CSV && format != FORMAT_ICALENDAR) {
+                throw new IllegalArgumentException("Unknown format " + format);
+            }
+            this.format = format;
+            return this;
+        }
+
+        /** @param include A combination of the {@code INCLUDE_*} constants; {@link #INCLUDE_ALL} by default. */
+        public Builder setInclude(int include) {
+            this.include = include;
+            return this;
+        }
+
+        public Builder setInIsrael(boolean inIsrael) {
+            this.inIsrael = inIsrael;
+            return this;
+        }
+
+        /** The format of the Hebrew dates; {@link HebrewDateFormat#DEFAULT} by default. */
+        public Builder setDateFormat(HebrewDateFormat dateFormat) {
+            this.dateFormat = dateFormat;
+            return this;
+        }
+
+        public HebrewCalendarExporter build() {
+            return new HebrewCalendarExporter(this);
+        }
+    }
+
+    /**
+     * Writes the days from {@code from} to {@code to} as UTF-8 to a stream. The stream is
+     * flushed but not closed.
+     * @see #export(int, int, Writer)
+     */
+    public int export(int from, int to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 14);
+        int days = export(from, to, writer);
+        writer.flush();
+        return days;
+    }
+
+    /**
+     * Writes the days from {@code from} to {@code to}, both inclusive, to {@code out}. The
+     * writer is neither buffered nor closed here, so pass a buffered one.
+     * @param from The first day, as a {@link HebrewDate}.
+     * @param to The last day, as a {@link HebrewDate}.
+     * @return The number of days walked.
+     */
+    public int export(int from, int to, Writer out) throws IOException {
+        int fromAbs = HebrewDate.toAbs(from);
+        int toAbs = HebrewDate.toAbs(to);
+        writeHeader(out);
+        int date = from;
+        int year = HebrewDate.year(date);
+        int yearStart = HebrewCalendarMath.roshHashanaAbs(year);
+        for (int abs = fromAbs; abs <= toAbs; abs++) {
+            if (abs != fromAbs) {
+                date = HebrewDate.plusDays(date, 1);
+                if (HebrewDate.year(date) != year) {
+                    year = HebrewDate.year(date);
+                    yearStart = HebrewCalendarMath.roshHashanaAbs(year);
+                }
+            }
+            int dayOfYear = abs - yearStart;
+            String holiday = (include & INCLUDE_HOLIDAYS) != 0 ? holidayName(date, year, dayOfYear) : null;
+            int parsha = (include & INCLUDE_PARSHIYOT) != 0 ? parshiyot.getParshaIndex(year, dayOfYear) : 0;
+            if (format == FORMAT_CSV) {
+                writeCsvRow(out, abs, date, holiday, parsha);
+            } else {
+                writeEvents(out, abs, date, holiday, parsha);
+            }
+        }
+        writeFooter(out);
+        return Math.max(0, toAbs - fromAbs + 1);
+    }
+
+    private void writeHeader(Writer out) throws IOException {
+        if (format == FORMAT_CSV) {
+            out.write("gregorian,hebrew,holiday,parsha\r\n");
+        } else {
+            out.write("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//yt2178//DatePickerHebrew//HE\r\nCALSCALE:GREGORIAN\r\n");
+        }
+    }
+
+    private void writeFooter(Writer out) throws IOException {
+        if (format == FORMAT_ICALENDAR) {
+            out.write("END:VCALENDAR\r\n");
+        }
+    }
+
+    private void writeCsvRow(Writer out, int abs, int date, String holiday, int parsha) throws IOException {
+        if ((include & INCLUDE_DATES) == 0 && holiday == null && parsha == 0) return;
+        writeGregorian(out, abs, true);
+        out.write(',');
+        writeCsvField(out, null, date);
+        out.write(',');
+        if (holiday != null) writeCsvField(out, holiday, 0);
+        out.write(',');
+        if (parsha != 0) writeCsvField(out, ParshaIndex.formatParsha(parsha), 0);
+        out.write("\r\n");
+    }
+
+    /** Writes {@code text}, or the formatted {@code date} if it is null, quoted only when needed. */
+    private void writeCsvField(Writer out, String text, int date) throws IOException {
+        if (text == null) {
+            // The date formats write no commas, quotes or line breaks unless the separator has one.
+            dateFormat.formatTo(date, out);
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private void writeEvents(Writer out, int abs, int date, String holiday, int parsha) throws IOException {
+        if ((include & INCLUDE_DATES) != 0) {
+            beginEvent(out, abs, 'd');
+            dateFormat.formatTo(date, out);
+            endEvent(out);
+        }
+        if (holiday != null) {
+            beginEvent(out, abs, 'h');
+            writeIcsText(out, holiday);
+            endEvent(out);
+        }
+        if (parsha != 0) {
+            beginEvent(out, abs, 'p');
+            out.write(PARSHA_PREFIX);
+            writeIcsText(out, ParshaIndex.formatParsha(parsha));
+            endEvent(out);
+        }
+    }
+
+    /** Writes the start of an all-day event, up to and including {@code SUMMARY:}. */
+    private void beginEvent(Writer out, int abs, char kind) throws IOException {
+        out.write("BEGIN:VEVENT\r\nUID:");
+        writeGregorian(out, abs, false);
+        out.write('-');
+        out.write(kind);
+        out.write("@hebrewdatepicker\r\nDTSTAMP:");
+        // A fixed stamp keeps repeated exports of the same range identical.
+        writeGregorian(out, abs, false);
+        out.write("T000000Z\r\nDTSTART;VALUE=DATE:");
+        writeGregorian(out, abs, false);
+        out.write("\r\nTRANSP:TRANSPARENT\r\nSUMMARY:");
+    }
+
+    private static void endEvent(Writer out) throws IOException {
+        out.write("\r\nEND:VEVENT\r\n");
+    }
+
+    /** Writes iCalendar TEXT, escaping the characters RFC 5545 reserves. */
+    private static void writeIcsText(Writer out, String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == ';' || c == '\\') out.write('\\');
+            out.write(c);
+        }
+    }
+
+    /**
+     * @return The holiday or fast name of a day, or null. Names come from the library formatter
+     *         the first time and from a cache afterwards.
+     */
+    private String holidayName(int date, int year, int dayOfYear) {
+        if ((holidays.getCategories(year, dayOfYear) & HOLIDAY_CATEGORIES) == 0) return null;
+        holidayCalendar.setJewishDate(year, HebrewDate.month(date), HebrewDate.day(date));
+        int index = holidayCalendar.getYomTovIndex();
+        if (index < 0 || index > MAX_YOM_TOV_INDEX) {
+            String name = holidayFormatter.formatYomTov(holidayCalendar);
+            return name == null || name.isEmpty() ? null : name;
+        }
+        int slot = index * NAMES_PER_INDEX;
+        if (index == JewishCalendar.CHANUKAH) {
+            slot += holidayCalendar.getDayOfChanukah();
+        }
+        String name = holidayNames[slot];
+        if (name == null) {
+            name = holidayFormatter.formatYomTov(holidayCalendar);
+            holidayNames[slot] = name == null ? "" : name;
+        }
+        return name.isEmpty() ? null : name;
+    }
+
+    /** Writes the Gregorian date of an absolute day as {@code yyyy-MM-dd}, or {@code yyyyMMdd} without dashes. */
+    private static void writeGregorian(Writer out, int abs, boolean dashes) throws IOException {
+        // Civil-from-days (H. Hinnant), on the days since 1970-01-01; absolute days are positive,
+        // so the shifted day count is too and plain division gives the era.
+        int z = abs - EPOCH_ABS + 719468;
+        int era = z / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        writeDigits(out, year, 4);
+        if (dashes) out.write('-');
+        writeDigits(out, month, 2);
+        if (dashes) out.write('-');
+        writeDigits(out, day, 2);
+    }
+
+    private static void writeDigits(Writer out, int value, int width) throws IOException {
+        for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            out.write('0' + (value / divisor) % 10);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import java.util.TimeZone;
+
+/**
+ * Hebrew calendar arithmetic on plain ints: leap years, year and month lengths, the weekday of
+ * Rosh Hashana and absolute-day conversions.
+ * <p>
+ * The year start is computed from the molad of Tishrei and the four dehiyyot (postponement
+ * rules), exactly as KosherJava does, so the results agree with {@link JewishCalendar}; but
+ * nothing here allocates or touches a {@link java.util.Calendar}. Months use the
+ * {@link JewishCalendar} constants (Nissan = 1 ... Adar = 12, Adar II = 13), and absolute days
+ * are the same R.D. day numbers as {@link JewishCalendar#getAbsDate()} (1 = 1 January of year 1).
+ * <p>
+ * A year and month are passed around packed into one int with {@link #packMonth(int, int)}.
+ */
+public final class HebrewCalendarMath {
+
+    /** A 353 or 383 day year: Cheshvan and Kislev both have 29 days. */
+    public static final int DEFICIENT = 0;
+    /** A 354 or 384 day year: Cheshvan has 29 days and Kislev 30. */
+    public static final int REGULAR = 1;
+    /** A 355 or 385 day year: Cheshvan and Kislev both have 30 days. */
+    public static final int COMPLETE = 2;
+
+    private static final int JEWISH_EPOCH = -1373429;
+    private static final long CHALAKIM_PER_DAY = 25920;
+    private static final long CHALAKIM_PER_MONTH = 765433;
+    private static final long CHALAKIM_MOLAD_TOHU = 31524;
+    /** Absolute day of 1 January 1970. */
+    private static final int EPOCH_DAY_OFFSET = 719163;
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static final int[] REGULAR_MONTHS = {
+            JewishCalendar.TISHREI, JewishCalendar.CHESHVAN, JewishCalendar.KISLEV, JewishCalendar.TEVES,
+            JewishCalendar.SHEVAT, JewishCalendar.ADAR, JewishCalendar.NISSAN, JewishCalendar.IYAR,
+            JewishCalendar.SIVAN, JewishCalendar.TAMMUZ, JewishCalendar.AV, JewishCalendar.ELUL
+    };
+    private static final int[] LEAP_MONTHS = {
+            JewishCalendar.TISHREI, JewishCalendar.CHESHVAN, JewishCalendar.KISLEV, JewishCalendar.TEVES,
+            JewishCalendar.SHEVAT, JewishCalendar.ADAR, JewishCalendar.ADAR_II, JewishCalendar.NISSAN,
+            JewishCalendar.IYAR, JewishCalendar.SIVAN, JewishCalendar.TAMMUZ, JewishCalendar.AV, JewishCalendar.ELUL
+    };
+
+    private HebrewCalendarMath() {
+    }
+
+    /** @return Whether {@code year} has 13 months. */
+    public static boolean isLeapYear(int year) {
+        return (7 * year + 1) % 19 < 7;
+    }
+
+    /** @return The number of months in {@code year}, 12 or 13. */
+    public static int monthCount(int year) {
+        return isLeapYear(year) ? 13 : 12;
+    }
+
+    /**
+     * @param index The position of the month in the year, 0 for Tishrei.
+     * @return The month at {@code index}, as a {@link JewishCalendar} constant.
+     */
+    public static int monthAt(int year, int index) {
+        return (isLeapYear(year) ? LEAP_MONTHS : REGULAR_MONTHS)[index];
+    }
+
+    /**
+     * @return The position of {@code month} in the year (0 for Tishrei), or -1 if the year does
+     *         not have that month (Adar II in a regular year).
+     */
+    public static int indexOfMonth(int year, int month) {
+        boolean leap = isLeapYear(year);
+        if (month >= JewishCalendar.TISHREI) {
+            if (month == JewishCalendar.ADAR_II) return leap ? 6 : -1;
+            return month - JewishCalendar.TISHREI;
+        }
+        return month + (leap ? 6 : 5);
+    }
+
+    /** @return The number of days from the Hebrew epoch to the day before Rosh Hashana of {@code year}. */
+    public static int elapsedDays(int year) {
+        long chalakim = CHALAKIM_MOLAD_TOHU + CHALAKIM_PER_MONTH * monthsElapsed(year);
+        int moladDay = (int) (chalakim / CHALAKIM_PER_DAY);
+        int moladParts = (int) (chalakim - moladDay * CHALAKIM_PER_DAY);
+        int day = moladDay;
+        // Molad zaken, GaTaRaD and BeTU'TaKPaT.
+        if (moladParts >= 19440
+                || (moladDay % 7 == 2 && moladParts >= 9924 && !isLeapYear(year))
+                || (moladDay % 7 == 1 && moladParts >= 16789 && isLeapYear(year - 1))) {
+            day++;
+        }
+        // Lo ADU Rosh: Rosh Hashana never falls on Sunday, Wednesday or Friday.
+        int weekday = day % 7;
+        if (weekday == 0 || weekday == 3 || weekday == 5) {
+            day++;
+        }
+        return day;
+    }
+
+    /** @return The number of days in {@code year}: 353-355 or 383-385. */
+    public static int daysInYear(int year) {
+        return elapsedDays(year + 1) - elapsedDays(year);
+    }
+
+    /** @return {@link #DEFICIENT}, {@link #REGULAR} or {@link #COMPLETE}. */
+    public static int yearType(int year) {
+        return daysInYear(year) % 10 - 3;
+    }
+
+    /** @return The number of days in {@code month} of {@code year}, 29 or 30. */
+    public static int daysInMonth(int year, int month) {
+        return daysInMonth(month, isLeapYear(year), yearType(year));
+    }
+
+    private static int daysInMonth(int month, boolean leapYear, int yearType) {
+        switch (month) {
+            case JewishCalendar.IYAR:
+            case JewishCalendar.TAMMUZ:
+            case JewishCalendar.ELUL:
+            case JewishCalendar.TEVES:
+            case JewishCalendar.ADAR_II:
+                return 29;
+            case JewishCalendar.CHESHVAN:
+                return yearType == COMPLETE ? 30 : 29;
+            case JewishCalendar.KISLEV:
+                return yearType == DEFICIENT ? 29 : 30;
+            case JewishCalendar.ADAR:
+                return leapYear ? 30 : 29;
+            default:
+                return 30;
+        }
+    }
+
+    /** @return The absolute day of 1 Tishrei of {@code year}. */
+    public static int roshHashanaAbs(int year) {
+        return elapsedDays(year) + JEWISH_EPOCH + 1;
+    }
+
+    /** @return The weekday of Rosh Hashana of {@code year}, 1 for Sunday through 7 for Shabbat. */
+    public static int roshHashanaDayOfWeek(int year) {
+        return dayOfWeek(roshHashanaAbs(year));
+    }
+
+    /**
+     * @return The number of days between Rosh Hashana and the given date; 0 for 1 Tishrei. This
+     *         is the day index used by {@link HolidayIndex}.
+     */
+    public static int dayOfYear(int year, int month, int day) {
+        boolean leap = isLeapYear(year);
+        int type = yearType(year);
+        int[] months = leap ? LEAP_MONTHS : REGULAR_MONTHS;
+        int days = day - 1;
+        for (int i = 0, index = indexOfMonth(year, month); i < index; i++) {
+            days += daysInMonth(months[i], leap, type);
+        }
+        return days;
+    }
+
+    /**
+     * The inverse of {@link #dayOfYear(int, int, int)} for the month.
+     * @param dayOfYear The day of the year, 0 for 1 Tishrei.
+     * @return The month that contains that day, as a {@link JewishCalendar} constant.
+     */
+    public static int monthOfDayOfYear(int year, int dayOfYear) {
+        boolean leap = isLeapYear(year);
+        int type = yearType(year);
+        int[] months = leap ? LEAP_MONTHS : REGULAR_MONTHS;
+        int i = 0;
+        int length;
+        while (dayOfYear >= (length = daysInMonth(months[i], leap, type)) && i < months.length - 1) {
+            dayOfYear -= length;
+            i++;
+        }
+        return months[i];
+    }
+
+    /** @return The absolute day of the given Hebrew date. */
+    public static int toAbs(int year, int month, int day) {
+        return roshHashanaAbs(year) + dayOfYear(year, month, day);
+    }
+
+    /** @return The weekday of an absolute day, 1 for Sunday through 7 for Shabbat. */
+    public static int dayOfWeek(int abs) {
+        return (abs % 7 + 7) % 7 + 1;
+    }
+
+    /** @return The Hebrew year that contains the absolute day {@code abs}. */
+    public static int yearOfAbs(int abs) {
+        // An estimate that is never too high, then step forward; this takes at most two steps.
+        int year = (int) ((abs - JEWISH_EPOCH) / 365.25) - 1;
+        while (roshHashanaAbs(year + 1) <= abs) {
+            year++;
+        }
+        return year;
+    }
+
+    /** @return Today's absolute day in the device's time zone, the same day {@code new JewishCalendar()} holds. */
+    public static int todayAbs() {
+        long now = System.currentTimeMillis();
+        long local = now + TimeZone.getDefault().getOffset(now);
+        return (int) (local / MILLIS_PER_DAY) + EPOCH_DAY_OFFSET;
+    }
+
+    /**
+     * Packs a year and a month into one int.
+     * @see #yearOf(int)
+     * @see #monthOf(int)
+     */
+    public static int packMonth(int year, int month) {
+        return (year << 4) | month;
+    }
+
+    /** @return The year of a value from {@link #packMonth(int, int)}. */
+    public static int yearOf(int packedMonth) {
+        return packedMonth >>> 4;
+    }
+
+    /** @return The month of a value from {@link #packMonth(int, int)}, as a {@link JewishCalendar} constant. */
+    public static int monthOf(int packedMonth) {
+        return packedMonth & 0xF;
+    }
+
+    /**
+     * Moves a month forwards or backwards in calendar order, crossing years as needed
+     * (Elul is followed by Tishrei of the next year).
+     * @param delta The number of months to move; may be negative.
+     * @return The resulting month, packed with {@link #packMonth(int, int)}.
+     */
+    public static int addMonths(int year, int month, int delta) {
+        int index = indexOfMonth(year, month) + delta;
+        while (index < 0) {
+            year--;
+            index += monthCount(year);
+        }
+        while (index >= monthCount(year)) {
+            index -= monthCount(year);
+            year++;
+        }
+        return packMonth(year, monthAt(year, index));
+    }
+
+    /**
+     * Moves a month by whole years, keeping the month. Adar II becomes Adar in a year that has
+     * no Adar II.
+     * @return The resulting month, packed with {@link #packMonth(int, int)}.
+     */
+    public static int addYears(int year, int month, int delta) {
+        int newYear = year + delta;
+        if (month == JewishCalendar.ADAR_II && !isLeapYear(newYear)) {
+            month = JewishCalendar.ADAR;
+        }
+        return packMonth(newYear, month);
+    }
+
+    /** @return The number of months from the Hebrew epoch to Tishrei of {@code year}. */
+    public static int monthsElapsed(int year) {
+        int y = year - 1;
+        return 235 * (y / 19) + 12 * (y % 19) + (7 * (y % 19) + 1) / 19;
+    }
+
+    /**
+     * @return The number of months from the first month to the second; negative if the second
+     *         comes first. This is the inverse of {@link #addMonths(int, int, int)}.
+     */
+    public static int monthsBetween(int year, int month, int otherYear, int otherMonth) {
+        return monthsElapsed(otherYear) + indexOfMonth(otherYear, otherMonth)
+                - monthsElapsed(year) - indexOfMonth(year, month);
+    }
+
+    /** @return Whether the first month comes before the second in calendar order. */
+    public static boolean isMonthBefore(int year, int month, int otherYear, int otherMonth) {
+        if (year != otherYear) return year < otherYear;
+        return indexOfMonth(year, month) < indexOfMonth(otherYear, otherMonth);
+    }
+}
@@ -0,0 +1,140 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+/**
+ * A Hebrew date packed into a single {@code int}, with static helpers to build, read and
+ * compare it.
+ * <p>
+ * The layout is {@code year << 9 | monthOrdinal << 5 | day}, where the month ordinal follows
+ * calendar order: Tishrei is 0, Adar (Adar I in a leap year) is 5, Adar II is 6 and Elul is 12.
+ * Packed dates therefore compare correctly as plain ints, and two dates are in the same month
+ * when they agree above the day bits. Being ints, they are immutable and never allocate.
+ * <pre>{@code
+ * int today = HebrewDate.today();
+ * int date = HebrewDate.of(5785, JewishCalendar.ELUL, 29);
+ * boolean past = HebrewDate.compare(date, today) < 0;
+ * int next = HebrewDate.plusDays(date, 1); // 1 Tishrei 5786
+ * }</pre>
+ */
+public final class HebrewDate {
+
+    private static final int MONTH_SHIFT = 5;
+    private static final int YEAR_SHIFT = 9;
+    private static final int DAY_MASK = (1 << MONTH_SHIFT) - 1;
+    private static final int ORDINAL_MASK = (1 << (YEAR_SHIFT - MONTH_SHIFT)) - 1;
+
+    private HebrewDate() {
+    }
+
+    /**
+     * @param month The month, using the {@link JewishCalendar} constants.
+     * @return The packed date. The values are not validated.
+     */
+    public static int of(int year, int month, int day) {
+        return (year << YEAR_SHIFT) | (ordinalOf(month) << MONTH_SHIFT) | day;
+    }
+
+    /** @return The packed date of a {@link JewishCalendar}. */
+    public static int from(JewishCalendar date) {
+        return of(date.getJewishYear(), date.getJewishMonth(), date.getJewishDayOfMonth());
+    }
+
+    /** @return A new {@link JewishCalendar} set to {@code date}. */
+    public static JewishCalendar toJewishCalendar(int date) {
+        return new JewishCalendar(year(date), month(date), day(date));
+    }
+
+    /** @return The packed date of an absolute day (see {@link HebrewCalendarMath}). */
+    public static int fromAbs(int abs) {
+        int year = HebrewCalendarMath.yearOfAbs(abs);
+        int dayOfYear = abs - HebrewCalendarMath.roshHashanaAbs(year);
+        int month = HebrewCalendarMath.monthOfDayOfYear(year, dayOfYear);
+        return of(year, month, dayOfYear - HebrewCalendarMath.dayOfYear(year, month, 1) + 1);
+    }
+
+    /** @return The absolute day of {@code date}. */
+    public static int toAbs(int date) {
+        return HebrewCalendarMath.toAbs(year(date), month(date), day(date));
+    }
+
+    /** @return Today's date in the device's time zone. */
+    public static int today() {
+        return fromAbs(HebrewCalendarMath.todayAbs());
+    }
+
+    public static int year(int date) {
+        return date >>> YEAR_SHIFT;
+    }
+
+    /** @return The month as a {@link JewishCalendar} constant. */
+    public static int month(int date) {
+        return monthOf((date >>> MONTH_SHIFT) & ORDINAL_MASK);
+    }
+
+    public static int day(int date) {
+        return date & DAY_MASK;
+    }
+
+    /** @return The first day of the month {@code date} is in. */
+    public static int monthStart(int date) {
+        return (date & ~DAY_MASK) | 1;
+    }
+
+    /** @return A negative number, zero or a positive number as {@code a} is before, equal to or after {@code b}. */
+    public static int compare(int a, int b) {
+        return Integer.compare(a, b);
+    }
+
+    /** Compares only the months of two dates, ignoring the day. */
+    public static int compareMonths(int a, int b) {
+        return Integer.compare(a >>> MONTH_SHIFT, b >>> MONTH_SHIFT);
+    }
+
+    public static boolean isSameMonth(int a, int b) {
+        return (a >>> MONTH_SHIFT) == (b >>> MONTH_SHIFT);
+    }
+
+    /** @return The date {@code days} days after {@code date}; {@code days} may be negative. */
+    public static int plusDays(int date, int days) {
+        int day = day(date) + days;
+        if (day >= 1 && day <= 29) {
+            // Every month has at least 29 days, so this stays in the same month.
+            return date + days;
+        }
+        return fromAbs(toAbs(date) + days);
+    }
+
+    /**
+     * @return The first day of the month {@code months} months after the month of {@code date},
+     *         in calendar order; {@code months} may be negative.
+     */
+    public static int plusMonths(int date, int months) {
+        int packed = HebrewCalendarMath.addMonths(year(date), month(date), months);
+        return of(HebrewCalendarMath.yearOf(packed), HebrewCalendarMath.monthOf(packed), 1);
+    }
+
+    /**
+     * @return The first day of the same month {@code years} years later; Adar II becomes Adar in
+     *         a year that has no Adar II.
+     */
+    public static int plusYears(int date, int years) {
+        int packed = HebrewCalendarMath.addYears(year(date), month(date), years);
+        return of(HebrewCalendarMath.yearOf(packed), HebrewCalendarMath.monthOf(packed), 1);
+    }
+
+    /** @return The number of months from the month of {@code a} to the month of {@code b}; negative if {@code b} is earlier. */
+    public static int monthsBetween(int a, int b) {
+        return HebrewCalendarMath.monthsBetween(year(a), month(a), year(b), month(b));
+    }
+
+    private static int ordinalOf(int month) {
+        if (month == JewishCalendar.ADAR_II) return 6;
+        return month >= JewishCalendar.TISHREI ? month - JewishCalendar.TISHREI : month + 6;
+    }
+
+    private static int monthOf(int ordinal) {
+        if (ordinal < 6) return ordinal + JewishCalendar.TISHREI;
+        return ordinal == 6 ? JewishCalendar.ADAR_II : ordinal - 6;
+    }
+}
@@ -0,0 +1,207 @@
+package com.yt.hebrewdatepicker;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Converts Gregorian dates, given as epoch days (days since 1970-01-01, as in
+ * {@code LocalDate.toEpochDay()}), to {@link HebrewDate} values in bulk.
+ * <p>
+ * Converting one date at a time through {@code new JewishCalendar(Date)} allocates two
+ * calendars per date. Here a whole array is converted into an {@code int[]} of packed dates:
+ * the start and month boundaries of the current Hebrew year are computed once and reused while
+ * the following dates fall in the same year, which is the common case for sorted or clustered
+ * lists. Large arrays can also be split across the threads of an {@link Executor}:
+ * <pre>{@code
+ * int[] hebrew = new int[epochDays.length];
+ * HebrewDateConverter.fromEpochDays(epochDays, hebrew, executor);
+ * int year = HebrewDate.year(hebrew[0]);
+ * }</pre>
+ */
+public final class HebrewDateConverter {
+
+    /** Absolute day of 1 January 1970, see {@link HebrewCalendarMath}. */
+    private static final int EPOCH_DAY_OFFSET = 719163;
+    /** Below this many dates, splitting costs more than it saves and the caller converts alone. */
+    private static final int PARALLEL_THRESHOLD = 16384;
+    /** The smallest slice given to one task. */
+    private static final int MIN_CHUNK = 4096;
+
+    private HebrewDateConverter() {
+    }
+
+    /** @return The {@link HebrewDate} of an epoch day. */
+    public static int fromEpochDay(long epochDay) {
+        return HebrewDate.fromAbs(toAbs(epochDay));
+    }
+
+    /**
+     * Converts {@code epochDays} into {@code out} on the calling thread.
+     * @param out Receives the {@link HebrewDate} of each epoch day, at the same index; at least as
+     *            long as {@code epochDays}.
+     */
+    public static void fromEpochDays(int[] epochDays, int[] out) {
+        checkLength(epochDays.length, out);
+        new YearCursor().convert(epochDays, null, 0, epochDays.length, out);
+    }
+
+    /** @see #fromEpochDays(int[], int[]) */
+    public static void fromEpochDays(long[] epochDays, int[] out) {
+        checkLength(epochDays.length, out);
+        new YearCursor().convert(null, epochDays, 0, epochDays.length, out);
+    }
+
+    /**
+     * Converts {@code epochDays} into {@code out}, splitting large arrays into slices that are
+     * claimed one at a time both by tasks on {@code executor} and by the calling thread. Returns
+     * when every slice is done. Small arrays are converted on the calling thread only.
+     * <p>
+     * The calling thread keeps claiming slices until none is left, and then waits only for the
+     * slices other threads are already converting. So any executor can be used, even a busy or
+     * single-threaded one, or one that rejects the tasks, and the call may be made from one of
+     * its own threads: tasks that never get to run leave their slices to the caller, which then
+     * just takes longer.
+     * @param out Receives the {@link HebrewDate} of each epoch day, at the same index.
+     * @throws IllegalStateException If the calling thread is interrupted while waiting; its
+     *                               interrupt flag is set again and {@code out} is incomplete.
+     */
+    public static void fromEpochDays(int[] epochDays, int[] out, Executor executor) {
+        checkLength(epochDays.length, out);
+        convertParallel(epochDays, null, epochDays.length, out, executor);
+    }
+
+    /** @see #fromEpochDays(int[], int[], Executor) */
+    public static void fromEpochDays(long[] epochDays, int[] out, Executor executor) {
+        checkLength(epochDays.length, out);
+        convertParallel(null, epochDays, epochDays.length, out, executor);
+    }
+
+    private static void convertParallel(final int[] ints, final long[] longs, int length, final int[] out,
+                                        Executor executor) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (length < PARALLEL_THRESHOLD || threads < 2) {
+            new YearCursor().convert(ints, longs, 0, length, out);
+            return;
+        }
+        // A few slices per thread, so a slow thread does not hold up the rest.
+        final int chunk = Math.max(MIN_CHUNK, (length + threads * 2 - 1) / (threads * 2));
+        final int chunks = (length + chunk - 1) / chunk;
+        final int total = length;
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(chunks);
+        final RuntimeException[] failure = new RuntimeException[1];
+        Runnable worker = () -> {
+            YearCursor cursor = new YearCursor();
+            int i;
+            while ((i = nextChunk.getAndIncrement()) < chunks) {
+                int from = i * chunk;
+                try {
+                    cursor.convert(ints, longs, from, Math.min(total, from + chunk), out);
+                } catch (RuntimeException e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        int helpers = Math.min(threads, chunks) - 1;
+        try {
+            for (int i = 0; i < helpers; i++) {
+                executor.execute(worker);
+            }
+        } catch (RejectedExecutionException e) {
+            // The calling thread converts whatever the accepted tasks do not.
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while converting dates", e);
+        }
+        synchronized (failure) {
+            if (failure[0] != null) throw failure[0];
+        }
+    }
+
+    private static void checkLength(int length, int[] out) {
+        if (out.length < length) {
+            throw new IllegalArgumentException("out holds " + out.length + " dates, need " + length);
+        }
+    }
+
+    private static int toAbs(long epochDay) {
+        long abs = epochDay + EPOCH_DAY_OFFSET;
+        if (abs < 1 || abs > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Epoch day out of range: " + epochDay);
+        }
+        return (int) abs;
+    }
+
+    /** The boundaries of one Hebrew year, reused while consecutive dates stay in it. Not thread-safe. */
+    private static final class YearCursor {
+        private int year;
+        /** Absolute day of Rosh Hashana of {@link #year}, and of the next year. */
+        private int start;
+        private int next = Integer.MIN_VALUE;
+        private final int[] months = new int[13];
+        /** The day of the year each month starts on, plus the length of the year at the end. */
+        private final int[] monthStarts = new int[14];
+        private int lastIndex;
+
+        void convert(int[] ints, long[] longs, int from, int to, int[] out) {
+            for (int i = from; i < to; i++) {
+                out[i] = fromAbs(ints != null ? ints[i] + EPOCH_DAY_OFFSET : HebrewDateConverter.toAbs(longs[i]));
+            }
+        }
+
+        int fromAbs(int abs) {
+            if (abs < start || abs >= next) {
+                moveTo(abs);
+            }
+            int dayOfYear = abs - start;
+            int i = lastIndex;
+            if (dayOfYear < monthStarts[i] || dayOfYear >= monthStarts[i + 1]) {
+                i = 0;
+                while (dayOfYear >= monthStarts[i + 1]) {
+                    i++;
+                }
+                lastIndex = i;
+            }
+            return HebrewDate.of(year, months[i], dayOfYear - monthStarts[i] + 1);
+        }
+
+        private void moveTo(int abs) {
+            if (next != Integer.MIN_VALUE && abs >= next && abs - next < 383) {
+                // Most often the following year: its start is already known.
+                year++;
+                start = next;
+                next = HebrewCalendarMath.roshHashanaAbs(year + 1);
+                if (abs >= next) {
+                    moveTo(abs);
+                    return;
+                }
+            } else {
+                if (abs < 1) {
+                    throw new IllegalArgumentException("Absolute day out of range: " + abs);
+                }
+                year = HebrewCalendarMath.yearOfAbs(abs);
+                start = HebrewCalendarMath.roshHashanaAbs(year);
+                next = HebrewCalendarMath.roshHashanaAbs(year + 1);
+            }
+            int monthCount = HebrewCalendarMath.monthCount(year);
+            int days = 0;
+            for (int i = 0; i < monthCount; i++) {
+                months[i] = HebrewCalendarMath.monthAt(year, i);
+                monthStarts[i] = days;
+                days += HebrewCalendarMath.daysInMonth(year, months[i]);
+            }
+            monthStarts[monthCount] = days;
+            lastIndex = 0;
+        }
+    }
+}
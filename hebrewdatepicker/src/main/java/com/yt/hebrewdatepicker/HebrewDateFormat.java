@@ -0,0 +1,129 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import java.io.IOException;
+
+/**
+ * An immutable, thread-safe formatter of {@link HebrewDate} values.
+ * <p>
+ * A format is configured once through its {@link Builder} and can then be shared freely: it
+ * holds no mutable state and reads only the fixed tables of {@link HebrewDateFormatter}, so
+ * any number of threads can format with it at the same time without locking. Output is
+ * written straight into an {@link Appendable}, such as a {@link StringBuilder} or a
+ * {@link java.io.Writer}.
+ * <pre>{@code
+ * HebrewDateFormat format = new HebrewDateFormat.Builder().setYearThousands(true).build();
+ * format.formatTo(HebrewDate.today(), writer);  // e.g. "כ״ה אלול ה׳תשפ״ה"
+ * }</pre>
+ */
+public final class HebrewDateFormat {
+
+    /** Day, month and year, the same text as {@link HebrewDateFormatter#format(JewishCalendar)}. */
+    public static final HebrewDateFormat DEFAULT = new Builder().build();
+
+    private final boolean showDay;
+    private final boolean showMonth;
+    private final boolean showYear;
+    private final boolean yearThousands;
+    private final String separator;
+
+    private HebrewDateFormat(Builder builder) {
+        this.showDay = builder.showDay;
+        this.showMonth = builder.showMonth;
+        this.showYear = builder.showYear;
+        this.yearThousands = builder.yearThousands;
+        this.separator = builder.separator;
+    }
+
+    public static class Builder {
+        private boolean showDay = true;
+        private boolean showMonth = true;
+        private boolean showYear = true;
+        private boolean yearThousands = false;
+        private String separator = " ";
+
+        public Builder setShowDay(boolean showDay) {
+            this.showDay = showDay;
+            return this;
+        }
+
+        public Builder setShowMonth(boolean showMonth) {
+            this.showMonth = showMonth;
+            return this;
+        }
+
+        public Builder setShowYear(boolean showYear) {
+            this.showYear = showYear;
+            return this;
+        }
+
+        /** Writes the thousands of the year too, e.g. "ה׳תשפ״ה" instead of "תשפ״ה". */
+        public Builder setYearThousands(boolean yearThousands) {
+            this.yearThousands = yearThousands;
+            return this;
+        }
+
+        /** The text between the day, month and year; a space by default. */
+        public Builder setSeparator(String separator) {
+            if (separator == null) throw new IllegalArgumentException("separator == null");
+            this.separator = separator;
+            return this;
+        }
+
+        public HebrewDateFormat build() {
+            return new HebrewDateFormat(this);
+        }
+    }
+
+    /**
+     * Writes a date to {@code out}.
+     * @param date A {@link HebrewDate}.
+     * @return {@code out}, for chaining.
+     * @throws IOException If {@code out} throws.
+     */
+    public Appendable formatTo(int date, Appendable out) throws IOException {
+        int year = HebrewDate.year(date);
+        boolean first = true;
+        if (showDay) {
+            out.append(HebrewDateFormatter.toGematria(HebrewDate.day(date)));
+            first = false;
+        }
+        if (showMonth) {
+            if (!first) out.append(separator);
+            out.append(HebrewDateFormatter.formatMonth(HebrewDate.month(date), HebrewCalendarMath.isLeapYear(year)));
+            first = false;
+        }
+        if (showYear) {
+            if (!first) out.append(separator);
+            if (yearThousands && year >= 1000) {
+                out.append(HebrewDateFormatter.toGematria(year / 1000));
+            }
+            out.append(HebrewDateFormatter.toGematria(year));
+        }
+        return out;
+    }
+
+    /**
+     * Appends a date to {@code sb}; like {@link #formatTo(int, Appendable)}, without the checked exception.
+     * @return {@code sb}, for chaining.
+     */
+    public StringBuilder formatTo(int date, StringBuilder sb) {
+        try {
+            formatTo(date, (Appendable) sb);
+            return sb;
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilder does not throw
+        }
+    }
+
+    /** @return The formatted {@link HebrewDate}. */
+    public String format(int date) {
+        return formatTo(date, new StringBuilder(24)).toString();
+    }
+
+    /** @return The formatted date held by {@code jc}. */
+    public String format(JewishCalendar jc) {
+        return format(HebrewDate.from(jc));
+    }
+}
@@ -5,44 +5,132 @@ import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
 /**
  * A simplified utility class that acts as a wrapper around the
  * com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter.
- * It delegates all formatting logic to the underlying library for accuracy and simplicity.
+ * <p>
+ * Day numbers, years below 1000 and month names are looked up in tables that are filled
+ * once from the underlying library, so the common calls neither recompute nor allocate.
+ * The {@code append*} variants write into a caller-supplied {@link StringBuilder}.
+ * <p>
+ * The tables never change after class loading, so every method here is safe to call from any
+ * thread without locking. The shared library formatter is only used, under a lock, for numbers
+ * outside the tables. For configurable output into any {@link Appendable}, see {@link HebrewDateFormat}.
  */
 public class HebrewDateFormatter {
 
-    // A single, static instance of the library's formatter.
+    // A single, static instance of the library's formatter. It is mutable and not thread-safe,
+    // so after class loading it is only used while holding its lock.
     private static final com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter libraryFormatter;
 
+    /** Gematria of the day numbers 1-30; index 0 is unused. */
+    private static final String[] DAY_NUMBERS = new String[31];
+
+    /** Month names indexed by [leap year ? 1 : 0][month], using the JewishCalendar month constants. */
+    private static final String[][] MONTH_NAMES = new String[2][JewishCalendar.ADAR_II + 1];
+
     // Static block to configure the formatter once upon class loading.
     static {
         libraryFormatter = new com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter();
         libraryFormatter.setHebrewFormat(true); // Ensure output is in Hebrew.
+
+        for (int d = 1; d < DAY_NUMBERS.length; d++) {
+            DAY_NUMBERS[d] = libraryFormatter.formatHebrewNumber(d);
+        }
+        // 5784 is a leap year and 5785 is not; month names depend on nothing else.
+        JewishCalendar jc = new JewishCalendar(5785, JewishCalendar.TISHREI, 1);
+        for (int month = JewishCalendar.NISSAN; month <= JewishCalendar.ADAR; month++) {
+            jc.setJewishMonth(month);
+            MONTH_NAMES[0][month] = libraryFormatter.formatMonth(jc);
+        }
+        jc.setJewishYear(5784);
+        for (int month = JewishCalendar.NISSAN; month <= JewishCalendar.ADAR_II; month++) {
+            jc.setJewishMonth(month);
+            MONTH_NAMES[1][month] = libraryFormatter.formatMonth(jc);
+        }
+    }
+
+    /** Gematria of 0-999, built on first use since only year labels need it. */
+    private static final class YearNumbers {
+        static final String[] TABLE = new String[1000];
+
+        static {
+            for (int n = 0; n < TABLE.length; n++) {
+                TABLE[n] = n < DAY_NUMBERS.length && n > 0 ? DAY_NUMBERS[n] : libraryFormatter.formatHebrewNumber(n);
+            }
+        }
     }
 
     /**
      * Formats a full Hebrew date using the library's built-in logic.
-     * Example: "ל' חשוון, ה'תשפ"ז"
+     * Example: "ל׳ חשון תשפ״ה"
      * @param jc The JewishCalendar instance to format.
      * @return A formatted date string.
      */
     public static String format(JewishCalendar jc) {
-        return libraryFormatter.format(jc);
+        StringBuilder sb = new StringBuilder(16);
+        appendFormat(jc, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the same text as {@link #format(JewishCalendar)} to {@code sb}.
+     * @return {@code sb}, for chaining.
+     */
+    public static StringBuilder appendFormat(JewishCalendar jc, StringBuilder sb) {
+        appendGematria(jc.getJewishDayOfMonth(), sb).append(' ');
+        appendMonth(jc.getJewishMonth(), jc.isJewishLeapYear(), sb).append(' ');
+        return appendGematria(jc.getJewishYear(), sb);
     }
 
     /**
      * Formats the name of the month from a JewishCalendar instance.
      * @param jc The JewishCalendar instance.
-     * @return The Hebrew name of the month (e.g., "אדר א'").
+     * @return The Hebrew name of the month (e.g., "אדר א׳").
      */
     public static String formatMonth(JewishCalendar jc) {
-        return libraryFormatter.formatMonth(jc);
+        return formatMonth(jc.getJewishMonth(), jc.isJewishLeapYear());
+    }
+
+    /**
+     * Formats the name of a month without needing a JewishCalendar instance.
+     * @param month The month, using the JewishCalendar constants (e.g. {@link JewishCalendar#TISHREI}).
+     * @param leapYear Whether the month belongs to a leap year; this decides between "אדר" and "אדר א׳".
+     * @return The Hebrew name of the month.
+     */
+    public static String formatMonth(int month, boolean leapYear) {
+        return MONTH_NAMES[leapYear ? 1 : 0][month];
     }
 
     /**
-     * Formats a number into a Hebrew Gematria string (e.g., 30 -> "ל'").
+     * Appends the name of a month to {@code sb}.
+     * @return {@code sb}, for chaining.
+     */
+    public static StringBuilder appendMonth(int month, boolean leapYear, StringBuilder sb) {
+        return sb.append(formatMonth(month, leapYear));
+    }
+
+    /**
+     * Formats a number into a Hebrew Gematria string (e.g., 30 -> "ל׳").
+     * Like the library, the thousands of a year are omitted (5785 -> "תשפ״ה").
      * @param number The number to convert.
      * @return The Gematria representation as a String.
      */
     public static String toGematria(int number) {
-        return libraryFormatter.formatHebrewNumber(number);
+        if (number > 0 && number < DAY_NUMBERS.length) {
+            return DAY_NUMBERS[number];
+        }
+        int lookup = number >= 1000 && number <= 9999 && number % 1000 != 0 ? number % 1000 : number;
+        if (lookup >= 0 && lookup < 1000) {
+            return YearNumbers.TABLE[lookup];
+        }
+        synchronized (libraryFormatter) {
+            return libraryFormatter.formatHebrewNumber(number);
+        }
+    }
+
+    /**
+     * Appends the Gematria of {@code number} to {@code sb}; see {@link #toGematria(int)}.
+     * @return {@code sb}, for chaining.
+     */
+    public static StringBuilder appendGematria(int number, StringBuilder sb) {
+        return sb.append(toGematria(number));
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.yt.hebrewdatepicker;
 import android.app.Dialog;
 import android.content.Context;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.view.KeyEvent;
@@ -22,35 +24,68 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.DialogFragment;
 import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager2.widget.ViewPager2;
 import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.concurrent.Executor;
 
 public class HebrewDatePickerDialog extends DialogFragment implements CalendarAdapter.OnItemListener {
     private boolean disablePastDates = false;
     private boolean disableHolidaysAndShabbat = false;
+    private boolean inIsrael = false;
+    private boolean useMonthView = false;
+    private boolean swipeable = false;
+    private boolean continuousScroll = false;
+    private boolean rangeSelection = false;
 
     private OnDateSetListener listener;
-    private JewishCalendar selectedDate;
-    private JewishCalendar displayedMonth;
-    private JewishCalendar today;
+    private OnDateRangeSetListener rangeListener;
+    /** התשובות של ספק הזמינות של האפליקציה, או null אם לא הוגדר ספק. */
+    private AvailabilityCache availability;
+    /** האירועים של האפליקציה, המוצגים כמספר על כל יום, או null. */
+    private EventIndex events;
+    private final int[] eventCounts = new int[30];
+    // התאריכים נשמרים כ-HebrewDate (int ארוז); JewishCalendar נוצר רק עבור המאזין.
+    // הבחירה נשמרת כימים מוחלטים, כך שבדיקת "בטווח" של כל תא היא השוואת מספרים.
+    // יום בודד שנבחר הוא טווח שמתחיל ונגמר בו.
+    private int rangeStartAbs;
+    private int rangeEndAbs;
+    /** במצב טווח: הלחיצה הבאה קובעת את סוף הטווח. */
+    private boolean choosingEnd;
+    /** היום הראשון של החודש המוצג. */
+    private int displayedMonth;
+    private int today;
+    private int todayAbs;
+    /** התאריך המינימלי והמקסימלי שנקבעו ב-Builder, כימים מוחלטים: 0 ו-{@link Integer#MAX_VALUE} אם לא נקבעו. */
+    private int minDateAbs;
+    private int maxDateAbs = Integer.MAX_VALUE;
+    // הגבולות בפועל, כולל disablePastDates, מחושבים פעם אחת בפתיחת הדיאלוג: כימים מוחלטים,
+    // וכתחילת החודש הראשון והאחרון (HebrewDate). כל בדיקת גבול היא השוואת מספרים.
+    private int minAbs;
+    private int maxAbs;
+    private int minMonth;
+    private int maxMonth;
 
-    private static ArrayList<String> sAllSuggestions;
-    private static Map<String, JewishCalendar> sMonthMap;
 
     private int startDayOffset;
+    /** החודש שהגריד מציג כעת. בזמן ניווט מהיר הכותרת ({@link #displayedMonth}) עשויה להקדים אותו בפריים. */
+    private int gridMonth;
 
     private ImageView prevYearButton, nextYearButton, prevMonthButton, nextMonthButton;
-    private TextView yearText, monthText;
+    private TextView yearText, monthText, rangeSummaryText;
     private RecyclerView calendarRecyclerView;
     private CalendarAdapter adapter;
+    private HebrewMonthView monthView;
+    private ViewPager2 monthPager;
+    private MonthPagerAdapter pagerAdapter;
+    private LinearLayoutManager monthListLayout;
+    private MonthListAdapter listAdapter;
+    /** מאחד לחיצות מהירות ולחיצה ארוכה על החצים לבנייה אחת של הגריד בכל פריים. */
+    private NavigationRepeater navigator;
 
     public interface OnDateSetListener {
         void onDateSet(JewishCalendar selectedDate, String formattedDate);
@@ -60,10 +95,149 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
         this.listener = listener;
     }
 
+    /** מאזין לבחירת טווח, ראו {@link Builder#setRangeSelection(boolean)}. */
+    public interface OnDateRangeSetListener {
+        /**
+         * @param dayCount מספר הימים בטווח, כולל שני הקצוות.
+         * @param blockedDays כמה מהם חסומים (עבר, חגים ושבתות, או חסומים על ידי האפליקציה), לפי ההגדרות של הדיאלוג.
+         * @param blockedDaysExact {@code false} אם הספק ({@link DateAvailabilityProvider}) עוד לא ענה על חלק
+         *                         מחודשי הטווח: הימים שהאפליקציה חוסמת נספרים רק בחודשים שהתשובה שלהם כבר שמורה
+         *                         במטמון (חודשים שהוצגו לאחרונה), ולכן {@code blockedDays} הוא אז חסם תחתון בלבד.
+         *                         טווח ארוך ממספר החודשים שהמטמון שומר (24) תמיד מדווח כחלקי.
+         *                         בלי ספק זמינות הספירה תמיד מדויקת.
+         */
+        void onDateRangeSet(JewishCalendar start, JewishCalendar end, int dayCount, int blockedDays, boolean blockedDaysExact);
+    }
+
+    public void setOnDateRangeSetListener(OnDateRangeSetListener listener) {
+        this.rangeListener = listener;
+    }
+
+    /**
+     * מגדיר ספק שחוסם ימים לפי נתוני האפליקציה, חודש שלם בכל קריאה.
+     * התשובות נשמרות במטמון; אחרי שהנתונים משתנים יש לקרוא ל-{@link #invalidateAvailability(int, int)}.
+     * אפשר להחליף את הספק (או להסיר אותו עם null) גם כשהדיאלוג מוצג; החודשים המוצגים מצוירים מחדש.
+     */
+    public void setDateAvailabilityProvider(DateAvailabilityProvider provider) {
+        setDateAvailabilityProvider(provider, null);
+    }
+
+    /**
+     * כמו {@link #setDateAvailabilityProvider(DateAvailabilityProvider)}, אבל הספק נקרא ברקע על {@code executor},
+     * כך שספק איטי (מסד נתונים, שירות) לא תוקע את המסך. חודש שעוד נטען מוצג מיד, וימיו אינם ניתנים
+     * לבחירה עד שהתשובה מגיעה. בקשות לחודש שהמשתמש כבר עזב מבוטלות, וכמה בקשות לאותו חודש מתאחדות לטעינה אחת.
+     */
+    public void setDateAvailabilityProvider(DateAvailabilityProvider provider, Executor executor) {
+        AvailabilityCache cache = provider == null ? null : new AvailabilityCache(provider);
+        if (cache != null && executor != null) {
+            Handler mainHandler = new Handler(Looper.getMainLooper());
+            cache.setAsync(executor, mainHandler::post, this::onAvailabilityLoaded);
+        }
+        this.availability = cache;
+        // המתאמים שומרים את המטמון שקיבלו כשנבנו, ולכן מעבירים להם את החדש, כמו ב-setEventIndex.
+        if (pagerAdapter != null) pagerAdapter.setAvailability(cache);
+        if (listAdapter != null) listAdapter.setAvailability(cache);
+        refreshMonths();
+        updateRangeSummary();
+    }
+
+    private void onAvailabilityLoaded(int year, int month) {
+        if (!isAdded() || yearText == null) return;
+        int loadedMonth = HebrewDate.of(year, month, 1);
+        // רק התאים שהשתנו מצוירים מחדש: CalendarAdapter משווה את הרשימה החדשה לישנה.
+        if (pagerAdapter != null) {
+            pagerAdapter.notifyMonthChanged(loadedMonth);
+        } else if (listAdapter != null) {
+            listAdapter.notifyMonthChanged(loadedMonth);
+        } else if (HebrewDate.isSameMonth(loadedMonth, displayedMonth)) {
+            updateCalendar();
+        }
+        // חודש שנטען עשוי לשנות את מספר הימים החסומים בטווח.
+        updateRangeSummary();
+    }
+
+    /**
+     * מודיע למטמון הזמינות אילו חודשים מוצגים כעת, כדי שטעינות של חודשים אחרים יבוטלו,
+     * ומבקש את החודשים שעוד לא נטענו (או שטעינתם בוטלה קודם).
+     */
+    private void setVisibleMonths(int from, int to) {
+        if (availability == null) return;
+        availability.setWantedMonths(from, to);
+        for (int month = from; HebrewDate.compareMonths(month, to) <= 0; month = HebrewDate.plusMonths(month, 1)) {
+            availability.get(HebrewDate.year(month), HebrewDate.month(month));
+        }
+    }
+
+    /**
+     * מוחק מהמטמון את התשובה של הספק עבור חודש אחד ומצייר אותו מחדש אם הוא מוצג.
+     * @param month החודש, לפי הקבועים של {@link JewishCalendar}.
+     */
+    public void invalidateAvailability(int year, int month) {
+        if (availability == null) return;
+        availability.invalidate(year, month);
+        refreshMonths();
+    }
+
+    /** מוחק מהמטמון את כל התשובות של הספק. */
+    public void invalidateAvailability() {
+        if (availability == null) return;
+        availability.invalidateAll();
+        refreshMonths();
+    }
+
+    private void refreshMonths() {
+        if (yearText == null) return; // הדיאלוג עוד לא נבנה
+        if (pagerAdapter != null) {
+            pagerAdapter.notifyDataSetChanged();
+        } else if (listAdapter != null) {
+            listAdapter.notifyDataSetChanged();
+        } else {
+            updateCalendar();
+        }
+    }
+
+    /**
+     * מציג על כל יום את מספר האירועים של האפליקציה באותו יום, לפי {@link EventIndex}.
+     * אחרי שינוי באירועים יש לקרוא ל-{@link #notifyEventsChanged()}.
+     * @param events האירועים, או null כדי להסתיר את הסימון.
+     */
+    public void setEventIndex(EventIndex events) {
+        this.events = events;
+        if (pagerAdapter != null) pagerAdapter.setEventIndex(events);
+        if (listAdapter != null) listAdapter.setEventIndex(events);
+        refreshMonths();
+    }
+
+    /** מצייר מחדש את מספרי האירועים, אחרי הוספה או הסרה של אירועים ב-{@link EventIndex}. */
+    public void notifyEventsChanged() {
+        refreshMonths();
+    }
+
+    /**
+     * בונה מראש, ברקע, את רשימת ההצעות של "קפיצה לתאריך", כדי שהפתיחה הראשונה לא תיתקע.
+     * מומלץ לקרוא לזה פעם אחת, למשל ב-{@code Application.onCreate()}.
+     * קריאות נוספות, או פתיחת הדיאלוג בזמן שהבנייה רצה, אינן בונות את הרשימה פעם נוספת.
+     * @param executor ה-Executor שעליו תרוץ הבנייה (לא ה-thread הראשי).
+     */
+    public static void prewarm(Executor executor) {
+        MonthSuggestions.prewarm(executor);
+    }
+
     public static class Builder {
         private boolean disablePast = false;
         private boolean disableHolidays = false;
+        private boolean inIsrael = false;
+        private boolean useMonthView = false;
+        private boolean swipeable = false;
+        private boolean continuousScroll = false;
+        private boolean rangeSelection = false;
+        private int minDateAbs = 0;
+        private int maxDateAbs = Integer.MAX_VALUE;
         private OnDateSetListener dateSetListener;
+        private OnDateRangeSetListener dateRangeSetListener;
+        private DateAvailabilityProvider availabilityProvider;
+        private Executor availabilityExecutor;
+        private EventIndex eventIndex;
         public Builder setDisablePastDates(boolean disable) {
             this.disablePast = disable;
             return this;
@@ -72,17 +246,111 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
             this.disableHolidays = disable;
             return this;
         }
+        /**
+         * בוחר את לוח החגים של ארץ ישראל (יום טוב אחד) במקום לוח חוץ לארץ.
+         * משפיע רק כאשר {@link #setDisableHolidaysAndShabbat(boolean)} מופעל.
+         */
+        public Builder setInIsrael(boolean inIsrael) {
+            this.inIsrael = inIsrael;
+            return this;
+        }
+        /**
+         * מצייר את כל החודש בתצוגה אחת ({@link HebrewMonthView}) במקום RecyclerView עם תא לכל יום.
+         * פתיחת הדיאלוג מהירה יותר, והיום הנוכחי מסומן בעיגול.
+         */
+        public Builder setUseMonthView(boolean useMonthView) {
+            this.useMonthView = useMonthView;
+            return this;
+        }
+        /**
+         * מאפשר מעבר בין חודשים בהחלקה (ViewPager2). החודשים הסמוכים מחושבים מראש ברקע.
+         * כאשר מופעל, גובר על {@link #setUseMonthView(boolean)}.
+         */
+        public Builder setSwipeable(boolean swipeable) {
+            this.swipeable = swipeable;
+            return this;
+        }
+        /**
+         * מציג רשימה אנכית רציפה של חודשים במקום חודש אחד בכל פעם. החודשים נטענים בהדרגה
+         * סביב החלק הנראה, כך שצריכת הזיכרון קבועה. כאשר מופעל, גובר על {@link #setSwipeable(boolean)}
+         * ועל {@link #setUseMonthView(boolean)}.
+         */
+        public Builder setContinuousScroll(boolean continuousScroll) {
+            this.continuousScroll = continuousScroll;
+            return this;
+        }
+        /**
+         * חוסם ימים לפי נתוני האפליקציה, בנוסף לתאריכי העבר ולחגים.
+         * ראו {@link DateAvailabilityProvider}.
+         */
+        public Builder setDateAvailabilityProvider(DateAvailabilityProvider provider) {
+            this.availabilityProvider = provider;
+            this.availabilityExecutor = null;
+            return this;
+        }
+        /**
+         * כמו {@link #setDateAvailabilityProvider(DateAvailabilityProvider)}, אבל הספק נקרא ברקע על {@code executor}.
+         * מתאים לספק איטי, למשל כזה שקורא ממסד נתונים.
+         */
+        public Builder setDateAvailabilityProvider(DateAvailabilityProvider provider, Executor executor) {
+            this.availabilityProvider = provider;
+            this.availabilityExecutor = executor;
+            return this;
+        }
+        /**
+         * התאריך המוקדם ביותר שניתן לבחור. ימים שלפניו מושבתים, והניווט (חצים, רשימות השנים והחודשים
+         * וקפיצה לתאריך) לא עובר את החודש שלו. {@code null} מבטל את הגבול.
+         */
+        public Builder setMinDate(JewishCalendar minDate) {
+            this.minDateAbs = minDate == null ? 0 : HebrewDate.toAbs(HebrewDate.from(minDate));
+            return this;
+        }
+        /** התאריך המאוחר ביותר שניתן לבחור, ראו {@link #setMinDate(JewishCalendar)}. {@code null} מבטל את הגבול. */
+        public Builder setMaxDate(JewishCalendar maxDate) {
+            this.maxDateAbs = maxDate == null ? Integer.MAX_VALUE : HebrewDate.toAbs(HebrewDate.from(maxDate));
+            return this;
+        }
+        /**
+         * בחירת טווח: הלחיצה הראשונה קובעת את תחילת הטווח והשנייה את סופו; הימים שביניהם מסומנים.
+         * מתחת ללוח מוצגים מספר הימים בטווח וכמה מהם חסומים. באישור נקרא {@link OnDateRangeSetListener}.
+         */
+        public Builder setRangeSelection(boolean rangeSelection) {
+            this.rangeSelection = rangeSelection;
+            return this;
+        }
+        public Builder setOnDateRangeSetListener(OnDateRangeSetListener listener) {
+            this.dateRangeSetListener = listener;
+            return this;
+        }
+        /** מציג על כל יום את מספר האירועים של האפליקציה, ראו {@link EventIndex}. */
+        public Builder setEventIndex(EventIndex events) {
+            this.eventIndex = events;
+            return this;
+        }
         public Builder setOnDateSetListener(OnDateSetListener listener) {
             this.dateSetListener = listener;
             return this;
         }
         public HebrewDatePickerDialog build() {
+            if (minDateAbs > maxDateAbs) {
+                throw new IllegalArgumentException("minDate is after maxDate");
+            }
             HebrewDatePickerDialog dialog = new HebrewDatePickerDialog();
             Bundle args = new Bundle();
             args.putBoolean("disablePast", disablePast);
             args.putBoolean("disableHolidays", disableHolidays);
+            args.putBoolean("inIsrael", inIsrael);
+            args.putBoolean("useMonthView", useMonthView);
+            args.putBoolean("swipeable", swipeable);
+            args.putBoolean("continuousScroll", continuousScroll);
+            args.putBoolean("rangeSelection", rangeSelection);
+            args.putInt("minDateAbs", minDateAbs);
+            args.putInt("maxDateAbs", maxDateAbs);
             dialog.setArguments(args);
             dialog.setOnDateSetListener(dateSetListener);
+            dialog.setOnDateRangeSetListener(dateRangeSetListener);
+            dialog.setDateAvailabilityProvider(availabilityProvider, availabilityExecutor);
+            dialog.setEventIndex(eventIndex);
             return dialog;
         }
     }
@@ -93,6 +361,13 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
         if (getArguments() != null) {
             disablePastDates = getArguments().getBoolean("disablePast", false);
             disableHolidaysAndShabbat = getArguments().getBoolean("disableHolidays", false);
+            inIsrael = getArguments().getBoolean("inIsrael", false);
+            useMonthView = getArguments().getBoolean("useMonthView", false);
+            swipeable = getArguments().getBoolean("swipeable", false);
+            continuousScroll = getArguments().getBoolean("continuousScroll", false);
+            rangeSelection = getArguments().getBoolean("rangeSelection", false);
+            minDateAbs = getArguments().getInt("minDateAbs", 0);
+            maxDateAbs = getArguments().getInt("maxDateAbs", Integer.MAX_VALUE);
         }
     }
 
@@ -106,6 +381,7 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
 
         yearText = view.findViewById(R.id.tv_year);
         monthText = view.findViewById(R.id.tv_month);
+        rangeSummaryText = view.findViewById(R.id.tv_range_summary);
         calendarRecyclerView = view.findViewById(R.id.calendar_recycler_view);
         prevYearButton = view.findViewById(R.id.btn_prev_year);
         nextYearButton = view.findViewById(R.id.btn_next_year);
@@ -115,86 +391,274 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
         Button okButton = view.findViewById(R.id.btn_ok);
         Button cancelButton = view.findViewById(R.id.btn_cancel);
 
-        today = new JewishCalendar();
-        selectedDate = new JewishCalendar();
-        if (disablePastDates && isBeforeToday(selectedDate)) {
-            selectedDate = (JewishCalendar) today.clone();
+        todayAbs = HebrewCalendarMath.todayAbs();
+        today = HebrewDate.fromAbs(todayAbs);
+        computeBounds();
+        // אם היום מחוץ לגבולות, הבחירה ההתחלתית היא היום הקרוב אליו שבתוכם.
+        rangeStartAbs = Math.max(minAbs, Math.min(maxAbs, todayAbs));
+        rangeEndAbs = rangeStartAbs;
+        displayedMonth = HebrewDate.monthStart(HebrewDate.fromAbs(rangeStartAbs));
+
+        if (continuousScroll) {
+            calendarRecyclerView.setVisibility(View.GONE);
+            setUpMonthList(view.findViewById(R.id.calendar_month_list));
+        } else if (swipeable) {
+            calendarRecyclerView.setVisibility(View.GONE);
+            setUpMonthPager(view.findViewById(R.id.calendar_pager));
+        } else if (useMonthView) {
+            calendarRecyclerView.setVisibility(View.GONE);
+            monthView = view.findViewById(R.id.calendar_month_view);
+            monthView.setVisibility(View.VISIBLE);
+            monthView.setOnItemListener(this);
+        } else {
+            calendarRecyclerView.setLayoutManager(new GridLayoutManager(getContext(), 7));
+            adapter = new CalendarAdapter(this);
+            calendarRecyclerView.setAdapter(adapter);
         }
-        displayedMonth = (JewishCalendar) selectedDate.clone();
-        displayedMonth.setJewishDayOfMonth(1);
-
-        calendarRecyclerView.setLayoutManager(new GridLayoutManager(getContext(), 7));
-        adapter = new CalendarAdapter(new ArrayList<>(), this);
-        calendarRecyclerView.setAdapter(adapter);
 
-        prevYearButton.setOnClickListener(v -> changeYear(-1));
-        nextYearButton.setOnClickListener(v -> changeYear(1));
-        prevMonthButton.setOnClickListener(v -> changeMonth(-1));
-        nextMonthButton.setOnClickListener(v -> changeMonth(1));
+        navigator = new NavigationRepeater(this::updateCalendar);
+        setUpArrow(prevYearButton, count -> changeYear(-count), 12);
+        setUpArrow(nextYearButton, count -> changeYear(count), 12);
+        setUpArrow(prevMonthButton, count -> changeMonth(-count), 1);
+        setUpArrow(nextMonthButton, count -> changeMonth(count), 1);
         yearText.setOnClickListener(v -> showYearSelectionDialog());
         monthText.setOnClickListener(v -> showMonthSelectionDialog());
         jumpButton.setOnClickListener(v -> showJumpToDateDialog());
         okButton.setOnClickListener(v -> {
-            if (listener != null) {
-                String formattedDate = HebrewDateFormatter.format(selectedDate);
-                listener.onDateSet(selectedDate, formattedDate);
+            if (rangeSelection) {
+                if (rangeListener != null) {
+                    rangeListener.onDateRangeSet(HebrewDate.toJewishCalendar(HebrewDate.fromAbs(rangeStartAbs)),
+                            HebrewDate.toJewishCalendar(HebrewDate.fromAbs(rangeEndAbs)),
+                            rangeEndAbs - rangeStartAbs + 1, countBlockedDays(), isBlockedCountExact());
+                }
+            } else if (listener != null) {
+                JewishCalendar date = HebrewDate.toJewishCalendar(HebrewDate.fromAbs(rangeStartAbs));
+                String formattedDate = HebrewDateFormatter.format(date);
+                listener.onDateSet(date, formattedDate);
             }
             dismiss();
         });
         cancelButton.setOnClickListener(v -> dismiss());
+        rangeSummaryText.setVisibility(rangeSelection ? View.VISIBLE : View.GONE);
         updateCalendar();
+        updateRangeSummary();
         return dialog;
     }
 
-    private void updateCalendar() {
-        yearText.setText("ה'" + HebrewDateFormatter.toGematria(displayedMonth.getJewishYear() % 1000));
-        monthText.setText(HebrewDateFormatter.formatMonth(displayedMonth));
-        ArrayList<CalendarAdapter.DayData> days = new ArrayList<>();
-        JewishCalendar temp = (JewishCalendar) displayedMonth.clone();
-        temp.setJewishDayOfMonth(1);
-        startDayOffset = temp.getDayOfWeek() - 1;
-        for (int i = 0; i < startDayOffset; i++) {
-            days.add(new CalendarAdapter.DayData("", false));
-        }
-        for (int d = 1; d <= displayedMonth.getDaysInJewishMonth(); d++) {
-            temp.setJewishDayOfMonth(d);
-            boolean isDisabled = false;
-            if (disablePastDates && isBeforeToday(temp)) {
-                isDisabled = true;
+    /**
+     * מחשב את הגבולות בפועל: התאריך המינימלי הוא המאוחר מבין {@code minDate} להיום (עם {@code disablePastDates}).
+     * אם הגבולות סותרים (למשל תאריך מקסימלי שכבר עבר), הניווט נשאר בחודש של התאריך המקסימלי.
+     */
+    private void computeBounds() {
+        minAbs = disablePastDates ? Math.max(minDateAbs, todayAbs) : minDateAbs;
+        maxAbs = maxDateAbs;
+        if (minAbs > maxAbs) {
+            minAbs = maxAbs;
+        }
+        minMonth = minAbs == 0 ? 0 : HebrewDate.monthStart(HebrewDate.fromAbs(minAbs));
+        maxMonth = maxAbs == Integer.MAX_VALUE ? Integer.MAX_VALUE : HebrewDate.monthStart(HebrewDate.fromAbs(maxAbs));
+    }
+
+    /** @return {@code month} (תחילת חודש), מוזז לחודש הקרוב בתוך הגבולות. */
+    private int clampMonth(int month) {
+        return Math.max(minMonth, Math.min(maxMonth, month));
+    }
+
+    /**
+     * מכין את מצב ההחלקה: כל עמוד הוא חודש, והמעבר בין עמודים מעדכן את החודש המוצג.
+     * עם תאריך מינימלי (או {@code disablePastDates}) העמוד הראשון הוא החודש שלו, ועם תאריך מקסימלי העמוד האחרון.
+     */
+    private void setUpMonthPager(ViewPager2 pager) {
+        pagerAdapter = createPagerAdapter();
+        monthPager = pager;
+        monthPager.setVisibility(View.VISIBLE);
+        monthPager.setAdapter(pagerAdapter);
+        monthPager.setCurrentItem(pagerAdapter.getPageOf(displayedMonth), false);
+        monthPager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
+            @Override
+            public void onPageSelected(int position) {
+                int month = pagerAdapter.getMonthAt(position);
+                if (month != displayedMonth) {
+                    displayedMonth = month;
+                    updateCalendar();
+                }
+                pagerAdapter.prefetchAround(position);
             }
-            int yomTovIndex = temp.getYomTovIndex();
-            boolean isYomTovOrShabbat = (yomTovIndex != -1 && yomTovIndex != JewishCalendar.YOM_KIPPUR) || temp.getDayOfWeek() == 7;
-            boolean isFastDay = temp.isTaanis();
-            if (disableHolidaysAndShabbat && (isYomTovOrShabbat || isFastDay)) {
-                isDisabled = true;
+        });
+    }
+
+    /**
+     * יוצר את עמודי ההחלקה סביב החודש המוצג: כ-100 שנה לכל כיוון, בתוך הגבולות.
+     * אם הניווט (חץ השנה, רשימת השנים או קפיצה לתאריך) יוצא מהטווח הזה, העמודים נבנים מחדש, ראו updateCalendar.
+     */
+    private MonthPagerAdapter createPagerAdapter() {
+        int firstMonth = Math.max(minMonth, HebrewDate.plusMonths(displayedMonth, -MonthPagerAdapter.PAGE_COUNT / 2));
+        return new MonthPagerAdapter(firstMonth, getGridOptions(), todayAbs, minAbs, maxAbs, availability, events,
+                HebrewDate.fromAbs(rangeStartAbs), this);
+    }
+
+    /**
+     * מכין את מצב הרשימה הרציפה: הכותרת מציגה את החודש העליון ברשימה, והחצים גוללים אליו.
+     * עם תאריך מינימלי (או {@code disablePastDates}) הרשימה מתחילה בחודש שלו, ועם תאריך מקסימלי היא נגמרת בחודש שלו.
+     */
+    private void setUpMonthList(RecyclerView monthList) {
+        listAdapter = new MonthListAdapter(displayedMonth, getGridOptions(), todayAbs, minAbs, maxAbs, availability, events,
+                HebrewDate.fromAbs(rangeStartAbs), date -> {
+            selectDay(HebrewDate.toAbs(date));
+            listAdapter.setSelection(rangeStartAbs, rangeEndAbs);
+        });
+        monthListLayout = new LinearLayoutManager(getContext());
+        monthList.setVisibility(View.VISIBLE);
+        monthList.setLayoutManager(monthListLayout);
+        monthList.setAdapter(listAdapter);
+        monthList.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            private int visibleFirst = RecyclerView.NO_POSITION;
+            private int visibleLast = RecyclerView.NO_POSITION;
+
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int first = monthListLayout.findFirstVisibleItemPosition();
+                int last = monthListLayout.findLastVisibleItemPosition();
+                if (first == RecyclerView.NO_POSITION) return;
+                int month = listAdapter.getMonthAt(first);
+                if (first != visibleFirst || last != visibleLast) {
+                    visibleFirst = first;
+                    visibleLast = last;
+                    setVisibleMonths(month, listAdapter.getMonthAt(last));
+                }
+                if (month != displayedMonth) {
+                    // רק הכותרת מתעדכנת; קריאה ל-updateCalendar הייתה מחזירה את הגלילה לתחילת החודש.
+                    displayedMonth = month;
+                    updateHeader();
+                }
             }
-            days.add(new CalendarAdapter.DayData(HebrewDateFormatter.toGematria(d), isDisabled));
+        });
+    }
+
+    private void updateHeader() {
+        int year = HebrewDate.year(displayedMonth);
+        int month = HebrewDate.month(displayedMonth);
+        yearText.setText("ה'" + HebrewDateFormatter.toGematria(year % 1000));
+        monthText.setText(HebrewDateFormatter.formatMonth(month, HebrewCalendarMath.isLeapYear(year)));
+        updateNavigationButtonsVisibility();
+    }
+
+    private void updateCalendar() {
+        updateHeader();
+        if (listAdapter != null) {
+            setVisibleMonths(displayedMonth, displayedMonth);
+            listAdapter.setSelection(rangeStartAbs, rangeEndAbs);
+            monthListLayout.scrollToPositionWithOffset(listAdapter.getPositionOf(displayedMonth), 0);
+            return;
         }
-        adapter.updateDays(days);
-        if (isSameMonth(displayedMonth, selectedDate)) {
-            int position = selectedDate.getJewishDayOfMonth() + startDayOffset - 1;
-            adapter.setSelectedPosition(position);
+        if (pagerAdapter != null) {
+            // גם העמודים הסמוכים נבנים מראש, ולכן גם הזמינות שלהם נחוצה.
+            setVisibleMonths(HebrewDate.plusMonths(displayedMonth, -1), HebrewDate.plusMonths(displayedMonth, 1));
         } else {
-            adapter.setSelectedPosition(-1);
+            setVisibleMonths(displayedMonth, displayedMonth);
+        }
+        int year = HebrewDate.year(displayedMonth);
+        int month = HebrewDate.month(displayedMonth);
+        MonthGrid grid = MonthGridCache.getShared().get(year, month, getGridOptions(), todayAbs, availability)
+                .withBounds(minAbs, maxAbs);
+        startDayOffset = grid.leadingOffset;
+        gridMonth = displayedMonth;
+        if (pagerAdapter != null) {
+            // העמודים מציגים את הגריד בעצמם; כאן רק מסנכרנים את העמוד הנוכחי ואת הבחירה.
+            if (!pagerAdapter.contains(displayedMonth)) {
+                // החודש מחוץ לטווח העמודים: בונים אותם מחדש סביבו, כדי שהכותרת והעמוד יציגו אותו חודש.
+                pagerAdapter = createPagerAdapter();
+                monthPager.setAdapter(pagerAdapter);
+            }
+            pagerAdapter.setSelection(rangeStartAbs, rangeEndAbs);
+            int page = pagerAdapter.getPageOf(displayedMonth);
+            int current = monthPager.getCurrentItem();
+            if (page != current) {
+                monthPager.setCurrentItem(page, Math.abs(page - current) == 1);
+            }
+        } else {
+            int[] counts = null;
+            if (events != null) {
+                events.getMonthCounts(year, month, eventCounts);
+                counts = eventCounts;
+            }
+            if (monthView != null) {
+                monthView.setMonthGrid(grid, rangeStartAbs, rangeEndAbs,
+                        HebrewDate.isSameMonth(displayedMonth, today) ? HebrewDate.day(today) : 0, counts);
+            } else {
+                adapter.setMonthGrid(grid, rangeStartAbs, rangeEndAbs, counts);
+            }
         }
-        updateNavigationButtonsVisibility();
     }
-    private void updateNavigationButtonsVisibility() {
-        if (disablePastDates) {
-           // בדוק אם החודש המוצג הוא החודש הנוכחי או בעתיד
-            boolean canGoBack = isAfterCurrentMonth(displayedMonth);
-            prevMonthButton.setVisibility(canGoBack ? View.VISIBLE : View.INVISIBLE);
-            prevYearButton.setVisibility(canGoBack ? View.VISIBLE : View.INVISIBLE);
+
+    /**
+     * מעדכן את הבחירה אחרי לחיצה על יום.
+     * במצב טווח, לחיצה ראשונה (או לחיצה על יום שלפני תחילת הטווח) מתחילה טווח חדש, והלחיצה הבאה סוגרת אותו.
+     */
+    private void selectDay(int abs) {
+        if (!rangeSelection || !choosingEnd || abs < rangeStartAbs) {
+            rangeStartAbs = abs;
+            rangeEndAbs = abs;
+            choosingEnd = rangeSelection;
         } else {
-            // תמיד הצג לחצנים אם תאריכי העבר אינם מושבתים
-            prevMonthButton.setVisibility(View.VISIBLE);
-            prevYearButton.setVisibility(View.VISIBLE);
+            rangeEndAbs = abs;
+            choosingEnd = false;
+        }
+        updateRangeSummary();
+    }
+
+    /** מספר הימים החסומים בטווח. חודשים שהזמינות שלהם עוד לא נטענה נספרים לפי העבר והחגים בלבד. */
+    private int countBlockedDays() {
+        return MonthGrid.countDisabled(rangeStartAbs, rangeEndAbs, getGridOptions(), todayAbs, availability);
+    }
+
+    /** האם כל חודשי הטווח כבר נענו על ידי ספק הזמינות, כך ש-{@link #countBlockedDays()} מדויק ולא רק חסם תחתון. */
+    private boolean isBlockedCountExact() {
+        return availability == null
+                || availability.isKnown(HebrewDate.fromAbs(rangeStartAbs), HebrewDate.fromAbs(rangeEndAbs));
+    }
+
+    private void updateRangeSummary() {
+        if (!rangeSelection || rangeSummaryText == null) return;
+        int dayCount = rangeEndAbs - rangeStartAbs + 1;
+        StringBuilder summary = new StringBuilder(dayCount == 1 ? "יום אחד" : dayCount + " ימים");
+        int blocked = countBlockedDays();
+        if (!isBlockedCountExact()) {
+            // חלק מהחודשים עוד לא נבדקו מול האפליקציה.
+            if (blocked > 0) {
+                summary.append(", מתוכם לפחות ").append(blocked).append(blocked == 1 ? " חסום" : " חסומים");
+            } else {
+                summary.append(", הימים החסומים עוד לא ידועים במלואם");
+            }
+        } else if (blocked > 0) {
+            summary.append(", מתוכם ").append(blocked).append(blocked == 1 ? " חסום" : " חסומים");
         }
+        rangeSummaryText.setText(summary);
+    }
+    private int getGridOptions() {
+        int options = 0;
+        if (disablePastDates) options |= MonthGrid.OPTION_DISABLE_PAST;
+        if (disableHolidaysAndShabbat) options |= MonthGrid.OPTION_DISABLE_HOLIDAYS;
+        if (inIsrael) options |= MonthGrid.OPTION_IN_ISRAEL;
+        return options;
+    }
+    private void updateNavigationButtonsVisibility() {
+        // החודש המוצג תמיד בתוך הגבולות; החצים מוסתרים בחודש הראשון והאחרון. לחיצה על חץ השנה
+        // כשנשארה פחות משנה נעצרת בחודש הגבול, ראו changeYear.
+        boolean canGoBack = displayedMonth > minMonth;
+        boolean canGoForward = displayedMonth < maxMonth;
+        prevMonthButton.setVisibility(canGoBack ? View.VISIBLE : View.INVISIBLE);
+        prevYearButton.setVisibility(canGoBack ? View.VISIBLE : View.INVISIBLE);
+        nextMonthButton.setVisibility(canGoForward ? View.VISIBLE : View.INVISIBLE);
+        nextYearButton.setVisibility(canGoForward ? View.VISIBLE : View.INVISIBLE);
     }
     private void showYearSelectionDialog() {
-        int currentYear = displayedMonth.getJewishYear();
-        int startYear = disablePastDates ? today.getJewishYear() : currentYear - 50;
-        int endYear = startYear + 100; // Show a 100-year range
+        int currentYear = HebrewDate.year(displayedMonth);
+        // עד 100 שנה סביב השנה המוצגת, בתוך הגבולות: גם כשהגבולות רחוקים זה מזה הרשימה לא גדלה.
+        int minYear = minMonth != 0 ? HebrewDate.year(minMonth) : Integer.MIN_VALUE;
+        int maxYear = maxMonth != Integer.MAX_VALUE ? HebrewDate.year(maxMonth) : Integer.MAX_VALUE;
+        int endYear = Math.min(maxYear, Math.max(minYear, currentYear - 50) + 100);
+        int startYear = Math.max(minYear, endYear - 100);
         ArrayList<String> yearList = new ArrayList<>();
         for (int i = startYear; i <= endYear; i++) {
             yearList.add("ה'" + HebrewDateFormatter.toGematria(i % 1000));
@@ -202,74 +666,42 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
         new AlertDialog.Builder(requireContext())
                 .setTitle("בחר שנה")
                 .setItems(yearList.toArray(new String[0]), (d, which) -> {
-                    int selectedYear = startYear + which;
-                   // אם תעבור לשנה הנוכחית מהעתיד, אל תקפוץ לחודש האחרון
-                    if (disablePastDates && selectedYear == today.getJewishYear() && displayedMonth.getJewishMonth() < today.getJewishMonth()) {
-                        displayedMonth.setJewishMonth(today.getJewishMonth());
-                    }
-                    displayedMonth.setJewishYear(selectedYear);
+                    // בשנת הגבול, אל תקפוץ לחודש שמחוץ לגבולות
+                    displayedMonth = clampMonth(HebrewDate.plusYears(displayedMonth, startYear + which - currentYear));
                     updateCalendar();
                 })
                 .show();
     }
     /**
      * מציג דיאלוג לבחירה מהירה של חודש מתוך השנה המוצגת.
-     * הפונקציה מסננת באופן דינמי חודשים מהעבר אם האפשרות {@code disablePastDates} מופעלת
-     * והמשתמש צופה בשנה הנוכחית.
+     * בשנה של התאריך המינימלי או המקסימלי (או בשנה הנוכחית עם {@code disablePastDates}) מוצגים רק החודשים שבתוך הגבולות.
      */
     private void showMonthSelectionDialog() {
-        int currentYear = displayedMonth.getJewishYear();
+        int currentYear = HebrewDate.year(displayedMonth);
+        boolean leapYear = HebrewCalendarMath.isLeapYear(currentYear);
         // --- שלב 1: הכנת רשימת החודשים לתצוגה ---
-        List<Integer> allMonthsInYear = getMonthListForYear(currentYear);
-        ArrayList<String> monthNamesToDisplay = new ArrayList<>();
-
-        com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter hdf = new com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter();
-        hdf.setHebrewFormat(true);
-
-        if (disablePastDates && currentYear == today.getJewishYear()) {
-            // אם אסור להציג עבר ואנחנו בשנה הנוכחית:
-            // התחל מהחודש הנוכחי ורוץ עד סוף השנה.
-            int currentMonthIndex = allMonthsInYear.indexOf(today.getJewishMonth());
-            if (currentMonthIndex != -1) {
-                for (int i = currentMonthIndex; i < allMonthsInYear.size(); i++) {
-                    int monthConst = allMonthsInYear.get(i);
-                    monthNamesToDisplay.add(hdf.formatMonth(new JewishCalendar(currentYear, monthConst, 1)));
-                }
-            }
-        } else {
-            // אם מותר להציג עבר, או שאנחנו לא בשנה הנוכחית:
-            // הצג את כל חודשי השנה ללא סינון.
-            for (int monthConst : allMonthsInYear) {
-                monthNamesToDisplay.add(hdf.formatMonth(new JewishCalendar(currentYear, monthConst, 1)));
-            }
+        int firstIndex = firstMonthIndexInBounds(currentYear);
+        String[] monthNamesToDisplay = new String[lastMonthIndexInBounds(currentYear) - firstIndex + 1];
+        for (int i = 0; i < monthNamesToDisplay.length; i++) {
+            monthNamesToDisplay[i] = HebrewDateFormatter.formatMonth(HebrewCalendarMath.monthAt(currentYear, firstIndex + i), leapYear);
         }
 
         // --- שלב 2: הצגת הדיאלוג ובחירה ---
         new AlertDialog.Builder(requireContext())
                 .setTitle("בחר חודש")
-                .setItems(monthNamesToDisplay.toArray(new String[0]), (d, which) -> {
-                    // 'which' הוא המיקום ברשימה (המסוננת או המלאה) שהצגנו.
-                    // אנחנו צריכים למצוא את מספר החודש האמיתי שתואם לבחירה הזו.
-                    String selectedMonthName = monthNamesToDisplay.get(which);
-
-                    for (int monthConst : allMonthsInYear) {
-                        String name = hdf.formatMonth(new JewishCalendar(currentYear, monthConst, 1));
-                        if (name.equals(selectedMonthName)) {
-                            displayedMonth.setJewishMonth(monthConst);
-                            updateCalendar();
-                            break; // מצאנו, אין צורך להמשיך
-                        }
-                    }
+                .setItems(monthNamesToDisplay, (d, which) -> {
+                    // 'which' הוא המיקום ברשימה שהצגנו, שמתחילה בחודש firstIndex של השנה.
+                    displayedMonth = HebrewDate.of(currentYear, HebrewCalendarMath.monthAt(currentYear, firstIndex + which), 1);
+                    updateCalendar();
                 })
                 .show();
     }
   /**
      * מציג דיאלוג המאפשר למשתמש לקפוץ לחודש ושנה ספציפיים באמצעות חיפוש טקסט.
      * <p>
-     * ההצעות מסוננות כדי להציג רק תאריכים עתידיים אם האפשרות {@code disablePastDates} מופעלת.
+     * ההצעות מסוננות כדי להציג רק חודשים שבתוך הגבולות (התאריך המינימלי והמקסימלי, או עתיד עם {@code disablePastDates}).
      */
     private void showJumpToDateDialog() {
-        ensureSuggestionsAreReady();
         AlertDialog.Builder builder = new AlertDialog.Builder(requireContext());
         LayoutInflater inflater = requireActivity().getLayoutInflater();
         View dialogView = inflater.inflate(R.layout.dialog_jump_to_date, null);
@@ -277,20 +709,19 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
         TextView tvInstructions = dialogView.findViewById(R.id.tv_instructions);
         TextView tvError = dialogView.findViewById(R.id.tv_error_message);
 
-        ArrayList<String> displaySuggestions = new ArrayList<>();
-        if (disablePastDates) {
-            for (String suggestion : sAllSuggestions) {
-                JewishCalendar cal = sMonthMap.get(suggestion);
-                if (cal != null && !isBeforeCurrentMonth(cal)) {
-                    displaySuggestions.add(suggestion);
-                }
+        MonthSuggestions ready = MonthSuggestions.getOrBuild(() -> autoCompleteTextView.post(() -> {
+            MonthSuggestions built = MonthSuggestions.getShared();
+            if (built != null && isAdded()) {
+                bindSuggestions(autoCompleteTextView, built);
+                tvInstructions.setText("הקלד חודש ושנה (למשל: אלול תשפה)");
             }
+        }));
+        if (ready != null) {
+            bindSuggestions(autoCompleteTextView, ready);
         } else {
-            displaySuggestions.addAll(sAllSuggestions);
+            // הרשימה נבנית כרגע ברקע (prewarm); נחבר אותה כשתהיה מוכנה.
+            tvInstructions.setText("טוען הצעות...");
         }
-
-        ArrayAdapter<String> adapter = createSuggestionsAdapter(displaySuggestions);
-        autoCompleteTextView.setAdapter(adapter);
         autoCompleteTextView.setThreshold(1);
 
         autoCompleteTextView.addTextChangedListener(new TextWatcher() {
@@ -325,82 +756,33 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
                     return;
                 }
 
-                String normalizedInput = normalizeHebrew(input);
-                JewishCalendar jumpToDate = null;
-
-                for (String key : sMonthMap.keySet()) {
-                    if (normalizeHebrew(key).contains(normalizedInput)) {
-                        jumpToDate = sMonthMap.get(key);
-                        break;
-                    }
-                }
-
-                if (jumpToDate != null) {
-                    String[] inputParts = input.trim().split("\\s+");
-                    if (inputParts.length == 1 && sMonthMap.get(input) == null) {
-                        int targetYear = jumpToDate.getJewishYear();
-
-                        List<String> monthsOfYear = new ArrayList<>();
-                        Map<String, JewishCalendar> tempMap = new HashMap<>();
-                        List<Integer> allMonthConstantsInYear = getMonthListForYear(targetYear);
-
-                        for (int monthConst : allMonthConstantsInYear) {
-                            // Apply the same filter here!
-                            if (disablePastDates && targetYear == today.getJewishYear() && monthConst < today.getJewishMonth()) {
-                                continue; // Skip past months
-                            }
-                            // Create the full month name string for this valid month
-                            JewishCalendar tempCal = new JewishCalendar(targetYear, monthConst, 1);
-                            String monthName = HebrewDateFormatter.formatMonth(tempCal);
-                            String yearText = HebrewDateFormatter.toGematria(targetYear % 1000);
-                            String fullKey = monthName + " " + yearText;
-
-                            monthsOfYear.add(fullKey);
-                            tempMap.put(fullKey, tempCal);
-                        }
-
-                        Map<String, Integer> monthOrderMap = new HashMap<>();
-                        monthOrderMap.put("תשרי", 1);
-                        monthOrderMap.put("מר חשוון", 2);
-                        monthOrderMap.put("חשוון", 2);
-                        monthOrderMap.put("כסלו", 3);
-                        monthOrderMap.put("טבת", 4);
-                        monthOrderMap.put("שבט", 5);
-                        monthOrderMap.put("אדר", 6);
-                        monthOrderMap.put("אדר א׳", 6);
-                        monthOrderMap.put("אדר ב׳", 7);
-                        monthOrderMap.put("ניסן", 8);
-                        monthOrderMap.put("אייר", 9);
-                        monthOrderMap.put("סיון", 10);
-                        monthOrderMap.put("תמוז", 11);
-                        monthOrderMap.put("אב", 12);
-                        monthOrderMap.put("אלול", 13);
-
-                        Collections.sort(monthsOfYear, (a, b) -> {
-                            Integer orderA = getMonthOrder(a, monthOrderMap);
-                            Integer orderB = getMonthOrder(b, monthOrderMap);
-                            if (orderA == null || orderB == null) return 0;
-                            return orderA.compareTo(orderB);
-                        });
-
-                        AlertDialog.Builder monthBuilder = new AlertDialog.Builder(requireContext());
-                        monthBuilder.setTitle("בחר חודש לשנה " + input)
-                                .setItems(monthsOfYear.toArray(new String[0]), (dialog1, whichMonth) -> {
-                                    JewishCalendar selectedMonth = tempMap.get(monthsOfYear.get(whichMonth));
-                                    if (selectedMonth != null) {
-                                        displayedMonth.setJewishDate(selectedMonth.getJewishYear(), selectedMonth.getJewishMonth(), 1);
-                                        selectedDate.setJewishDate(selectedMonth.getJewishYear(), selectedMonth.getJewishMonth(), 1);
-                                        updateCalendar();
-                                    }
-                                })
-                                .show();
+                // קודם כל ניתוח ישיר של החודש והשנה, ללא תלות ברשימת ההצעות (עובד לכל שנה).
+                // שנה חלקית, כמו "תש" או "ה", אינה מנותחת כשנה (5700, 5005) ועוברת לחיפוש בהצעות.
+                int parsed = GematriaParser.parse(input);
+                if (parsed != GematriaParser.INVALID) {
+                    int year = GematriaParser.yearOf(parsed);
+                    int month = GematriaParser.monthOf(parsed);
+                    boolean shown = month == 0
+                            ? showMonthsOfYearDialog(year) // הוזנה רק שנה: הצג את חודשי השנה לבחירה.
+                            : jumpToMonth(year == 0 ? HebrewDate.year(displayedMonth) : year, month);
+                    if (shown) {
                         dialog.dismiss();
-                        return;
+                    } else {
+                        tvError.setText(outOfBoundsMessage());
+                        tvError.setVisibility(View.VISIBLE);
                     }
+                    return;
+                }
 
-                    displayedMonth.setJewishDate(jumpToDate.getJewishYear(), jumpToDate.getJewishMonth(), 1);
-                    selectedDate.setJewishDate(jumpToDate.getJewishYear(), jumpToDate.getJewishMonth(), 1);
-                    updateCalendar();
+                // אחרת, חיפוש חלקי ברשימת ההצעות: "אלול תש" מגיע לאלול הראשון שבשנתו מופיע "תש".
+                MonthSuggestions suggestions = MonthSuggestions.getShared();
+                if (suggestions == null) {
+                    tvError.setText("ההצעות עדיין נטענות, נסה שוב בעוד רגע");
+                    tvError.setVisibility(View.VISIBLE);
+                    return;
+                }
+                int suggested = suggestions.firstMatch(input);
+                if (suggested != -1 && jumpToMonth(HebrewDate.year(suggested), HebrewDate.month(suggested))) {
                     dialog.dismiss();
                 } else {
                     tvError.setText("אנא הזן תאריך חוקי מהרשימה או שנה בגימטריה");
@@ -425,80 +807,91 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
         }
     }
     /**
-    * פונקציית עוזר כדי לקבל בחוזקה את סדר המיון למחרוזת של חודש.
-     * זה מטפל בשמות חודש רב-מילים כמו "Aber ucouf".
-     * @param monthString מחרוזת החודש המלאה (e.g., "מר חשוון תשפ"ח").
-     * @param orderMap מפת שמות החודש לסדר המיון שלהם.
-     * @return סדר המיון שלם, או null אם לא נמצא.
+     * @return המיקום (לפי סדר הלוח) של החודש הראשון של {@code year} שבתוך הגבולות;
+     *         מספר החודשים בשנה אם כל השנה לפני התאריך המינימלי.
      */
-    private Integer getMonthOrder(String monthString, Map<String, Integer> orderMap) {
-        // Iterate through all known month names in the map
-        for (String monthKey : orderMap.keySet()) {
-            // Check if the full string starts with a known month name
-            if (monthString.startsWith(monthKey)) {
-                return orderMap.get(monthKey);
-            }
-        }
-        return null; // Month not found
+    private int firstMonthIndexInBounds(int year) {
+        int minYear = HebrewDate.year(minMonth);
+        if (year < minYear) return HebrewCalendarMath.monthCount(year);
+        return year == minYear ? HebrewCalendarMath.indexOfMonth(year, HebrewDate.month(minMonth)) : 0;
+    }
+    /** @return המיקום של החודש האחרון של {@code year} שבתוך הגבולות; -1 אם כל השנה אחרי התאריך המקסימלי. */
+    private int lastMonthIndexInBounds(int year) {
+        int last = HebrewCalendarMath.monthCount(year) - 1;
+        if (maxMonth == Integer.MAX_VALUE) return last;
+        int maxYear = HebrewDate.year(maxMonth);
+        if (year > maxYear) return -1;
+        return year == maxYear ? HebrewCalendarMath.indexOfMonth(year, HebrewDate.month(maxMonth)) : last;
+    }
+    /** הודעת השגיאה כשהחודש שהוזן מחוץ לגבולות. */
+    private String outOfBoundsMessage() {
+        return minDateAbs == 0 && maxDateAbs == Integer.MAX_VALUE
+                ? "לא ניתן לבחור חודש שכבר עבר"
+                : "לא ניתן לבחור חודש מחוץ לטווח התאריכים";
     }
     /**
-     * פונקציה נפרדת לנרמול טקסט עברי להשוואה.
+     * מעביר את התצוגה לתחילת החודש המבוקש.
+     * אדר ב׳ בשנה פשוטה מתפרש כאדר.
+     * @return {@code false} אם החודש מחוץ לגבולות (התאריך המינימלי והמקסימלי, או עבר עם {@code disablePastDates}).
      */
-    private String normalizeHebrew(CharSequence cs) {
-        if (cs == null) return "";
-        return cs.toString()
-                .replace("״", "")
-                .replace("׳", "")
-                .replace("\"", "")
-                .replace("'", "")
-                .replace("’", "")
-                .replace("`", "")
-                .replaceAll("\\s+", "")
-                .toLowerCase(Locale.ROOT)
-                .trim();
+    private boolean jumpToMonth(int year, int month) {
+        if (month == JewishCalendar.ADAR_II && !HebrewCalendarMath.isLeapYear(year)) {
+            month = JewishCalendar.ADAR;
+        }
+        int target = HebrewDate.of(year, month, 1);
+        if (target < minMonth || target > maxMonth) {
+            return false;
+        }
+        displayedMonth = target;
+        if (!rangeSelection) {
+            // במצב טווח המעבר לחודש אחר שומר על הטווח שכבר נבחר.
+            // בחודש הגבול, היום הראשון של החודש עשוי להיות לפני התאריך המינימלי.
+            selectDay(Math.max(minAbs, Math.min(maxAbs, HebrewDate.toAbs(target))));
+        }
+        updateCalendar();
+        return true;
     }
     /**
-     * יוצר ושומר במטמון (cache) את רשימת ההצעות אם היא עדיין לא קיימת.
-     * התהליך רץ רק פעם אחת כדי לשפר ביצועים.
+     * מציג את חודשי השנה לפי סדר הלוח, לאחר שהמשתמש הזין שנה בלבד.
+     * חודשים שמחוץ לגבולות מושמטים.
+     * @return {@code false} אם לא נשאר חודש להציג.
      */
-    private void ensureSuggestionsAreReady() {
-        if (sAllSuggestions != null && sMonthMap != null) return;
-        sAllSuggestions = new ArrayList<>();
-        sMonthMap = new HashMap<>();
-        JewishCalendar cal = new JewishCalendar();
-        cal.setJewishDayOfMonth(1);
-        cal.setJewishYear(cal.getJewishYear() - 25);
-        int monthsToShow = 51 * 13;
-        for (int i = 0; i < monthsToShow; i++) {
-            String yearText = HebrewDateFormatter.toGematria(cal.getJewishYear() % 1000);
-            String suggestionText = HebrewDateFormatter.formatMonth(cal) + " " + yearText;
-            if (!sMonthMap.containsKey(suggestionText)) {
-                sAllSuggestions.add(suggestionText);
-                sMonthMap.put(suggestionText, (JewishCalendar) cal.clone());
-            }
-            int currentYear = cal.getJewishYear();
-            int currentMonth = cal.getJewishMonth();
-            List<Integer> monthList = getMonthListForYear(currentYear);
-            int currentIndex = monthList.indexOf(currentMonth);
-            if (currentIndex == -1) break;
-            int newIndex = currentIndex + 1;
-            int newYear = currentYear;
-            int newMonth;
-            if (newIndex >= monthList.size()) {
-                newYear++;
-                newMonth = JewishCalendar.TISHREI;
-            } else {
-                newMonth = monthList.get(newIndex);
-            }
-            cal.setJewishDate(newYear, newMonth, 1);
+    private boolean showMonthsOfYearDialog(int year) {
+        boolean leapYear = HebrewCalendarMath.isLeapYear(year);
+        String yearText = HebrewDateFormatter.toGematria(year % 1000);
+        int firstIndex = firstMonthIndexInBounds(year);
+        int lastIndex = lastMonthIndexInBounds(year);
+        if (firstIndex > lastIndex) {
+            return false;
+        }
+        String[] items = new String[lastIndex - firstIndex + 1];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = HebrewDateFormatter.formatMonth(HebrewCalendarMath.monthAt(year, firstIndex + i), leapYear) + " " + yearText;
         }
+        int start = firstIndex;
+        new AlertDialog.Builder(requireContext())
+                .setTitle("בחר חודש לשנה " + yearText)
+                .setItems(items, (d, which) -> jumpToMonth(year, HebrewCalendarMath.monthAt(year, start + which)))
+                .show();
+        return true;
+    }
+    /**
+     * מחבר את רשימת ההצעות לשדה החיפוש.
+     * ההצעות מסודרות לפי סדר הלוח, לכן הגבולות הם טווח רציף ברשימה, שקצותיו נמצאים בחיפוש בינארי.
+     */
+    private void bindSuggestions(AutoCompleteTextView autoCompleteTextView, MonthSuggestions suggestions) {
+        int fromIndex = suggestions.indexOfMonth(minMonth);
+        int toIndex = maxMonth == Integer.MAX_VALUE
+                ? suggestions.getAll().size()
+                : suggestions.indexOfMonth(HebrewDate.plusMonths(maxMonth, 1));
+        autoCompleteTextView.setAdapter(createSuggestionsAdapter(suggestions, fromIndex, Math.max(fromIndex, toIndex)));
     }
     /**
      * יוצר וקובע את התצורה של ה-ArrayAdapter עם פילטר מותאם אישית להצעות.
      */
-    private ArrayAdapter<String> createSuggestionsAdapter(List<String> suggestions) {
-        return new ArrayAdapter<String>(requireContext(), android.R.layout.simple_dropdown_item_1line, new ArrayList<>(suggestions)) {
-            private final List<String> allItems = new ArrayList<>(suggestions);
+    private ArrayAdapter<String> createSuggestionsAdapter(MonthSuggestions suggestions, int fromIndex, int toIndex) {
+        List<String> all = suggestions.getAll();
+        return new ArrayAdapter<String>(requireContext(), android.R.layout.simple_dropdown_item_1line, new ArrayList<>(all.subList(fromIndex, toIndex))) {
             @NonNull
             @Override
             public Filter getFilter() {
@@ -506,17 +899,7 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
                     @Override
                     protected FilterResults performFiltering(CharSequence constraint) {
                         FilterResults results = new FilterResults();
-                        List<String> filteredList = new ArrayList<>();
-                        if (constraint == null || constraint.length() == 0) {
-                            filteredList.addAll(allItems);
-                        } else {
-                            String filterPattern = normalizeHebrew(constraint);
-                            for (String item : allItems) {
-                                if (normalizeHebrew(item).contains(filterPattern)) {
-                                    filteredList.add(item);
-                                }
-                            }
-                        }
+                        List<String> filteredList = suggestions.filter(constraint, fromIndex, toIndex);
                         results.values = filteredList;
                         results.count = filteredList.size();
                         return results;
@@ -535,84 +918,56 @@ public class HebrewDatePickerDialog extends DialogFragment implements CalendarAd
             }
         };
     }
-    private boolean isBeforeToday(JewishCalendar date) { return date.compareTo(today) < 0; }
-    private boolean isSameMonth(JewishCalendar a, JewishCalendar b) {
-        if (a == null || b == null) return false;
-        return a.getJewishYear() == b.getJewishYear() && a.getJewishMonth() == b.getJewishMonth();
-    }
-    private boolean isAfterCurrentMonth(JewishCalendar date) {
-        JewishCalendar firstDayOfDate = (JewishCalendar) date.clone();
-        firstDayOfDate.setJewishDayOfMonth(1);
-        JewishCalendar firstDayOfToday = (JewishCalendar) today.clone();
-        firstDayOfToday.setJewishDayOfMonth(1);
-        return firstDayOfDate.compareTo(firstDayOfToday) > 0;
-    }
-    private boolean isBeforeCurrentMonth(JewishCalendar date) {
-        JewishCalendar todayInFirstDayOfMonth = (JewishCalendar) today.clone();
-        todayInFirstDayOfMonth.setJewishDayOfMonth(1);
-        JewishCalendar dateInFirstDayOfMonth = (JewishCalendar) date.clone();
-        dateInFirstDayOfMonth.setJewishDayOfMonth(1);
-        return dateInFirstDayOfMonth.compareTo(todayInFirstDayOfMonth) < 0;
-    }
-
-    private void changeMonth(int monthDifference) {
-        int currentYear = displayedMonth.getJewishYear();
-        int currentMonth = displayedMonth.getJewishMonth();
-        List<Integer> monthList = getMonthListForYear(currentYear);
-        int currentIndex = monthList.indexOf(currentMonth);
-        int newIndex = currentIndex + monthDifference;
-        int newYear = currentYear;
-        int newMonth;
-        if (newIndex < 0) {
-            newYear--;
-            List<Integer> prevYearMonthList = getMonthListForYear(newYear);
-            newMonth = prevYearMonthList.get(prevYearMonthList.size() - 1);
-        } else if (newIndex >= monthList.size()) {
-            newYear++;
-            newMonth = JewishCalendar.TISHREI;
-        } else {
-            newMonth = monthList.get(newIndex);
-        }
-        displayedMonth.setJewishDate(newYear, newMonth, 1);
-        updateCalendar();
+    /**
+     * מחבר חץ ניווט: לחיצה זזה צעד אחד, ולחיצה ארוכה חוזרת על הצעד ומאיצה עד שהחץ משתחרר.
+     * @param monthsPerStep כמה חודשים צעד אחד מזיז (1 לחצי החודש, 12 לחצי השנה).
+     */
+    private void setUpArrow(View arrow, NavigationRepeater.Step step, int monthsPerStep) {
+        arrow.setOnClickListener(v -> step.move(1));
+        arrow.setOnLongClickListener(v -> {
+            navigator.start(v, step, monthsPerStep);
+            return true;
+        });
     }
-    private void changeYear(int yearDifference) {
-        int newYear = displayedMonth.getJewishYear() + yearDifference;
-        int currentMonth = displayedMonth.getJewishMonth();
-        if (currentMonth == JewishCalendar.ADAR_II) {
-            if (!new JewishCalendar(newYear, 1, 1).isJewishLeapYear()) {
-                currentMonth = JewishCalendar.ADAR;
-            }
-        }
-        displayedMonth.setJewishDate(newYear, currentMonth, 1);
-        updateCalendar();
+    // המעבר מחושב ישירות לחודש היעד ונחתך לגבולות. מיד מתעדכנת רק הכותרת; הגריד נבנה בפריים הבא,
+    // פעם אחת עבור היעד האחרון, גם אם בינתיים היו כמה לחיצות.
+    /** @return {@code false} אם החודש המוצג כבר בגבול ולא זז. */
+    private boolean changeMonth(int monthDifference) {
+        return showMonthSoon(clampMonth(HebrewDate.plusMonths(displayedMonth, monthDifference)));
     }
-    private List<Integer> getMonthListForYear(int year) {
-        if (new JewishCalendar(year, 1, 1).isJewishLeapYear()) {
-            return Arrays.asList(
-                    JewishCalendar.TISHREI, JewishCalendar.CHESHVAN, JewishCalendar.KISLEV,
-                    JewishCalendar.TEVES, JewishCalendar.SHEVAT, JewishCalendar.ADAR,
-                    JewishCalendar.ADAR_II, JewishCalendar.NISSAN, JewishCalendar.IYAR,
-                    JewishCalendar.SIVAN, JewishCalendar.TAMMUZ, JewishCalendar.AV, JewishCalendar.ELUL
-            );
-        } else {
-            return Arrays.asList(
-                    JewishCalendar.TISHREI, JewishCalendar.CHESHVAN, JewishCalendar.KISLEV,
-                    JewishCalendar.TEVES, JewishCalendar.SHEVAT, JewishCalendar.ADAR,
-                    JewishCalendar.NISSAN, JewishCalendar.IYAR, JewishCalendar.SIVAN,
-                    JewishCalendar.TAMMUZ, JewishCalendar.AV, JewishCalendar.ELUL
-            );
+    /** @return {@code false} אם החודש המוצג כבר בגבול ולא זז. */
+    private boolean changeYear(int yearDifference) {
+        return showMonthSoon(clampMonth(HebrewDate.plusYears(displayedMonth, yearDifference)));
+    }
+    private boolean showMonthSoon(int month) {
+        if (month == displayedMonth) return false;
+        displayedMonth = month;
+        updateHeader();
+        navigator.requestRender();
+        return true;
+    }
+
+    @Override
+    public void onDestroyView() {
+        if (navigator != null) {
+            navigator.cancel();
         }
+        super.onDestroyView();
     }
     @Override
     public void onItemClick(int position) {
         int day = position - startDayOffset + 1;
         if (day < 1) return;
-        selectedDate.setJewishDate(
-                displayedMonth.getJewishYear(),
-                displayedMonth.getJewishMonth(),
-                day
-        );
-        adapter.setSelectedPosition(position);
+        selectDay(HebrewDate.toAbs(HebrewDate.of(HebrewDate.year(gridMonth), HebrewDate.month(gridMonth), day)));
+        if (pagerAdapter != null) {
+            pagerAdapter.setSelection(rangeStartAbs, rangeEndAbs);
+        } else if (rangeSelection) {
+            // הימים שבין הקצוות משתנים גם הם, ולכן החודש מוצג מחדש.
+            updateCalendar();
+        } else if (monthView != null) {
+            monthView.setSelectedPosition(position);
+        } else {
+            adapter.setSelectedPosition(position);
+        }
     }
 }
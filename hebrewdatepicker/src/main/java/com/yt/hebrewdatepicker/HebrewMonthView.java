@@ -0,0 +1,423 @@
+package com.yt.hebrewdatepicker;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.content.res.AppCompatResources;
+import androidx.core.content.ContextCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Draws a whole month grid in a single view, as a lighter alternative to the
+ * {@link CalendarAdapter} RecyclerView with one inflated cell per day.
+ * <p>
+ * It looks like the RecyclerView grid (48dp rows, a 40dp circle behind the selected day or
+ * the ends of a selected range and a lighter one behind the days between them, faded disabled
+ * days, event count badges) and also rings today. Labels come from the {@link MonthGrid}'s shared
+ * table and their widths are measured once, so {@link #onDraw(Canvas)} does not allocate.
+ * Taps are hit-tested against the grid and reported through the same
+ * {@link CalendarAdapter.OnItemListener}, with the same positions as the adapter.
+ * <p>
+ * For accessibility services each day is a virtual view, identified by its grid position, with
+ * a description of the day and its state; clicking it selects the day as a tap does. The arrow
+ * keys move a keyboard focus ring between the days, and Enter or the D-pad centre selects.
+ */
+public class HebrewMonthView extends View {
+
+    private static final int COLUMNS = 7;
+    private static final float DISABLED_ALPHA = 0.4f;
+    private static final float PENDING_ALPHA = 0.7f;
+
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint selectedFillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint inRangeFillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint todayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint borderPaint = new Paint();
+    private final Paint eventPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint focusPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final int textColor;
+    private final int selectedTextColor;
+    private final int disabledTextColor;
+    private final int pendingTextColor;
+    private final float rowHeight;
+    private final float circleRadius;
+    /** Distance from the vertical centre of a cell to the text baseline. */
+    private final float baselineOffset;
+    /** Label widths by day of month, measured once. */
+    private final float[] labelWidths = new float[31];
+    /** Event badge widths by count, up to {@link EventIndex#OVERFLOW_COUNT} for "99+", measured once. */
+    private final float[] eventWidths = new float[EventIndex.OVERFLOW_COUNT + 1];
+    /** Badge offsets from the top-end corner of a cell, matching the RecyclerView cell's margins. */
+    private final float eventInsetX;
+    private final float eventInsetY;
+    /** Event counts by {@code day - 1}, copied from the caller. */
+    private final int[] eventCounts = new int[30];
+
+    private MonthGrid grid;
+    /** The selected range as absolute days; a single selected day starts and ends on itself, 0 for none. */
+    private int rangeStartAbs;
+    private int rangeEndAbs;
+    private int todayDay;
+    private CalendarAdapter.OnItemListener onItemListener;
+    private int pressedPosition = -1;
+    private final DayAccessibilityHelper accessibilityHelper;
+
+    public HebrewMonthView(Context context) {
+        this(context, null);
+    }
+
+    public HebrewMonthView(Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public HebrewMonthView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        float density = getResources().getDisplayMetrics().density;
+        rowHeight = 48 * density;
+        circleRadius = 20 * density;
+
+        ColorStateList colors = AppCompatResources.getColorStateList(context, R.color.day_text_color);
+        textColor = colors.getDefaultColor();
+        selectedTextColor = colors.getColorForState(new int[]{android.R.attr.state_selected}, Color.WHITE);
+        disabledTextColor = (Math.round(Color.alpha(textColor) * DISABLED_ALPHA) << 24) | (textColor & 0x00FFFFFF);
+        pendingTextColor = (Math.round(Color.alpha(textColor) * PENDING_ALPHA) << 24) | (textColor & 0x00FFFFFF);
+        int brown = ContextCompat.getColor(context, R.color.brown);
+
+        textPaint.setTextAlign(Paint.Align.LEFT);
+        textPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, 14, getResources().getDisplayMetrics()));
+        Paint.FontMetrics metrics = textPaint.getFontMetrics();
+        baselineOffset = -(metrics.ascent + metrics.descent) / 2;
+        for (int day = 1; day < labelWidths.length; day++) {
+            labelWidths[day] = textPaint.measureText(HebrewDateFormatter.toGematria(day));
+        }
+        selectedFillPaint.setColor(brown);
+        inRangeFillPaint.setColor(ContextCompat.getColor(context, R.color.quarter_brown));
+        todayPaint.setColor(brown);
+        todayPaint.setStyle(Paint.Style.STROKE);
+        todayPaint.setStrokeWidth(1.5f * density);
+        borderPaint.setColor(0x33000000);
+        borderPaint.setStyle(Paint.Style.STROKE);
+        borderPaint.setStrokeWidth(Math.max(1, 0.5f * density));
+        eventPaint.setColor(brown);
+        eventPaint.setFakeBoldText(true);
+        eventPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, 10, getResources().getDisplayMetrics()));
+        eventInsetX = 3 * density;
+        eventInsetY = 2 * density - eventPaint.getFontMetrics().ascent;
+        for (int count = 1; count < eventWidths.length; count++) {
+            eventWidths[count] = eventPaint.measureText(EventIndex.formatCount(count));
+        }
+        focusPaint.setColor(brown);
+        focusPaint.setStyle(Paint.Style.STROKE);
+        focusPaint.setStrokeWidth(2 * density);
+
+        accessibilityHelper = new DayAccessibilityHelper();
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+        setFocusable(true);
+    }
+
+    /**
+     * Shows a month.
+     * @param selectedDay The selected day of this month, or 0 if the selection is in another month.
+     * @param todayDay Today's day of month if today is in this month, otherwise 0.
+     */
+    void setMonthGrid(MonthGrid grid, int selectedDay, int todayDay) {
+        setMonthGrid(grid, selectedDay, todayDay, null);
+    }
+
+    /**
+     * Shows a month with event badges.
+     * @param eventCounts The number of events on each day at {@code day - 1}, as filled by
+     *                    {@link EventIndex#getMonthCounts(int, int, int[])}, or null for none.
+     */
+    void setMonthGrid(MonthGrid grid, int selectedDay, int todayDay, int[] eventCounts) {
+        int selectedAbs = selectedDay == 0 ? 0 : grid.firstAbs + selectedDay - 1;
+        setMonthGrid(grid, selectedAbs, selectedAbs, todayDay, eventCounts);
+    }
+
+    /**
+     * Shows a month with a selected range, which may start or end in other months.
+     * @param rangeStartAbs The absolute day the range starts on, or 0 for no selection.
+     * @param rangeEndAbs The absolute day the range ends on, not before {@code rangeStartAbs}.
+     */
+    void setMonthGrid(MonthGrid grid, int rangeStartAbs, int rangeEndAbs, int todayDay, int[] eventCounts) {
+        if (eventCounts != null) {
+            System.arraycopy(eventCounts, 0, this.eventCounts, 0, this.eventCounts.length);
+        } else {
+            Arrays.fill(this.eventCounts, 0);
+        }
+        boolean resize = this.grid == null || rowCount(this.grid) != rowCount(grid);
+        this.grid = grid;
+        this.rangeStartAbs = rangeStartAbs;
+        this.rangeEndAbs = rangeEndAbs;
+        this.todayDay = todayDay;
+        if (resize) {
+            requestLayout();
+        }
+        int focused = accessibilityHelper.getKeyboardFocusedVirtualViewId();
+        if (focused != ExploreByTouchHelper.INVALID_ID && grid.getDayAt(focused) == 0) {
+            accessibilityHelper.clearKeyboardFocusForVirtualView(focused);
+        }
+        accessibilityHelper.invalidateRoot();
+        invalidate();
+    }
+
+    public void setSelectedPosition(int position) {
+        int day = grid == null || position < 0 ? 0 : grid.getDayAt(position);
+        int abs = day == 0 ? 0 : grid.firstAbs + day - 1;
+        if (abs == rangeStartAbs && abs == rangeEndAbs) return;
+        rangeStartAbs = abs;
+        rangeEndAbs = abs;
+        accessibilityHelper.invalidateRoot();
+        invalidate();
+    }
+
+    public void setOnItemListener(CalendarAdapter.OnItemListener listener) {
+        this.onItemListener = listener;
+    }
+
+    private static int rowCount(MonthGrid grid) {
+        return (grid.getCellCount() + COLUMNS - 1) / COLUMNS;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int rows = grid == null ? 0 : rowCount(grid);
+        int height = Math.round(rows * rowHeight) + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    private float cellWidth() {
+        return (getWidth() - getPaddingLeft() - getPaddingRight()) / (float) COLUMNS;
+    }
+
+    /** @return The left edge of a column, mirrored in right-to-left layouts like the RecyclerView grid. */
+    private float columnLeft(int column, float cellWidth) {
+        int visualColumn = getLayoutDirection() == LAYOUT_DIRECTION_RTL ? COLUMNS - 1 - column : column;
+        return getPaddingLeft() + visualColumn * cellWidth;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (grid == null) return;
+        float cellWidth = cellWidth();
+        int count = grid.getCellCount();
+        int focused = accessibilityHelper.getKeyboardFocusedVirtualViewId();
+        for (int position = 0; position < count; position++) {
+            float left = columnLeft(position % COLUMNS, cellWidth);
+            float top = getPaddingTop() + (position / COLUMNS) * rowHeight;
+            canvas.drawRect(left, top, left + cellWidth, top + rowHeight, borderPaint);
+            int day = grid.getDayAt(position);
+            if (day == 0) continue;
+
+            float cx = left + cellWidth / 2;
+            float cy = top + rowHeight / 2;
+            int abs = grid.firstAbs + day - 1;
+            boolean selected = abs == rangeStartAbs || abs == rangeEndAbs;
+            if (selected) {
+                canvas.drawCircle(cx, cy, circleRadius, selectedFillPaint);
+            } else if (abs > rangeStartAbs && abs < rangeEndAbs) {
+                canvas.drawCircle(cx, cy, circleRadius, inRangeFillPaint);
+            }
+            if (!selected && day == todayDay) {
+                canvas.drawCircle(cx, cy, circleRadius - todayPaint.getStrokeWidth(), todayPaint);
+            }
+            if (position == focused) {
+                float inset = focusPaint.getStrokeWidth() / 2;
+                canvas.drawRect(left + inset, top + inset, left + cellWidth - inset, top + rowHeight - inset, focusPaint);
+            }
+            textPaint.setColor(selected ? selectedTextColor
+                    : grid.isDisabled(day) ? disabledTextColor
+                    : grid.isPending(day) ? pendingTextColor : textColor);
+            canvas.drawText(grid.getLabelAt(position), cx - labelWidths[day] / 2, cy + baselineOffset, textPaint);
+            int eventCount = eventCounts[day - 1];
+            if (eventCount > 0) {
+                String events = EventIndex.formatCount(eventCount);
+                // Top-end corner: the right side of the cell, or the left side in right-to-left layouts.
+                boolean rtl = getLayoutDirection() == LAYOUT_DIRECTION_RTL;
+                float width = eventWidths[Math.min(eventCount, EventIndex.OVERFLOW_COUNT)];
+                float x = rtl ? left + eventInsetX : left + cellWidth - eventInsetX - width;
+                canvas.drawText(events, x, top + eventInsetY, eventPaint);
+            }
+        }
+    }
+
+    /** @return The grid position under a point, or -1. */
+    private int positionAt(float x, float y) {
+        if (grid == null) return -1;
+        float cellWidth = cellWidth();
+        int row = (int) ((y - getPaddingTop()) / rowHeight);
+        int visualColumn = (int) ((x - getPaddingLeft()) / cellWidth);
+        if (x < getPaddingLeft() || y < getPaddingTop() || visualColumn >= COLUMNS) return -1;
+        int column = getLayoutDirection() == LAYOUT_DIRECTION_RTL ? COLUMNS - 1 - visualColumn : visualColumn;
+        int position = row * COLUMNS + column;
+        return position < grid.getCellCount() ? position : -1;
+    }
+
+    private boolean isSelectable(int position) {
+        int day = position < 0 || grid == null ? 0 : grid.getDayAt(position);
+        return day != 0 && !grid.isDisabled(day) && !grid.isPending(day);
+    }
+
+    /** Selects the day at {@code position} as a tap on it does. */
+    private boolean clickPosition(int position) {
+        if (!isSelectable(position)) return false;
+        pressedPosition = position;
+        performClick();
+        pressedPosition = -1;
+        return true;
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (!isEnabled()) return false;
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                pressedPosition = positionAt(event.getX(), event.getY());
+                return isSelectable(pressedPosition);
+            case MotionEvent.ACTION_UP:
+                int position = positionAt(event.getX(), event.getY());
+                if (position == pressedPosition) {
+                    clickPosition(position);
+                }
+                pressedPosition = -1;
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                pressedPosition = -1;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        boolean handled = super.performClick();
+        if (pressedPosition != -1 && onItemListener != null) {
+            onItemListener.onItemClick(pressedPosition);
+            return true;
+        }
+        return handled;
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    /** Exposes each day as a virtual view whose id is its grid position. */
+    private final class DayAccessibilityHelper extends ExploreByTouchHelper {
+        private final Rect bounds = new Rect();
+        private final StringBuilder description = new StringBuilder();
+
+        DayAccessibilityHelper() {
+            super(HebrewMonthView.this);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int position = positionAt(x, y);
+            return position == -1 || grid.getDayAt(position) == 0 ? INVALID_ID : position;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            if (grid == null) return;
+            for (int day = 1; day <= grid.dayCount; day++) {
+                virtualViewIds.add(grid.getPositionOf(day));
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            if (grid == null || grid.getDayAt(virtualViewId) == 0) {
+                // A stale id, e.g. after the month changed; ExploreByTouchHelper still needs bounds.
+                node.setContentDescription("");
+                node.setBoundsInParent(bounds);
+                return;
+            }
+            int day = grid.getDayAt(virtualViewId);
+            int abs = grid.firstAbs + day - 1;
+            boolean selected = abs == rangeStartAbs || abs == rangeEndAbs;
+            boolean selectable = isSelectable(virtualViewId);
+
+            description.setLength(0);
+            description.append(grid.getLabelAt(virtualViewId)).append(' ');
+            HebrewDateFormatter.appendMonth(grid.month, HebrewCalendarMath.isLeapYear(grid.year), description);
+            if (selected) {
+                appendState(R.string.day_selected);
+            } else if (abs > rangeStartAbs && abs < rangeEndAbs) {
+                appendState(R.string.day_in_range);
+            }
+            if (day == todayDay) appendState(R.string.day_today);
+            if (grid.isPending(day)) {
+                appendState(R.string.day_loading);
+            } else if (grid.isDisabled(day)) {
+                appendState(R.string.day_unavailable);
+            }
+            int eventCount = eventCounts[day - 1];
+            if (eventCount > 0) {
+                description.append(", ").append(getResources().getString(R.string.day_events, EventIndex.formatCount(eventCount)));
+            }
+            node.setContentDescription(description.toString());
+
+            node.setSelected(selected);
+            node.setEnabled(selectable);
+            node.setClickable(selectable);
+            node.setFocusable(true);
+            if (selectable) {
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+            }
+            float cellWidth = cellWidth();
+            int left = Math.round(columnLeft(virtualViewId % COLUMNS, cellWidth));
+            int top = Math.round(getPaddingTop() + (virtualViewId / COLUMNS) * rowHeight);
+            bounds.set(left, top, Math.round(left + cellWidth), Math.round(top + rowHeight));
+            node.setBoundsInParent(bounds);
+        }
+
+        private void appendState(int resId) {
+            description.append(", ").append(getResources().getString(resId));
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            if (action != AccessibilityNodeInfoCompat.ACTION_CLICK || !clickPosition(virtualViewId)) return false;
+            sendEventForVirtualView(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+            return true;
+        }
+
+        @Override
+        protected void onVirtualViewKeyboardFocusChanged(int virtualViewId, boolean hasFocus) {
+            invalidate();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import java.util.Calendar;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A precomputed index of Shabbat, yom tov and fast days, one compact bitset per Hebrew year.
+ * <p>
+ * Each year is computed in a single pass over its days and stored as one bitset per category
+ * (at most 385 bits each), indexed by the day of the year counted from Rosh Hashana (0-based).
+ * Checking whether a day is blocked is then a mask test:
+ * <pre>{@code
+ * HolidayIndex index = HolidayIndex.getInstance(false);
+ * boolean blocked = index.isBlocked(jewishCalendar, HolidayIndex.ALL_CATEGORIES);
+ * }</pre>
+ * Separate instances exist for Israel and the diaspora. Instances are thread-safe.
+ */
+public final class HolidayIndex {
+
+    /** Any day KosherJava reports a yom tov index for, other than Yom Kippur (festivals, chol hamoed, Chanukah, Purim...). */
+    public static final int YOM_TOV = 1;
+    /** Shabbat. */
+    public static final int SHABBAT = 1 << 1;
+    /** A fast day other than Yom Kippur. */
+    public static final int FAST = 1 << 2;
+    /** Yom Kippur. */
+    public static final int YOM_KIPPUR = 1 << 3;
+    /** Every category; this is the rule used by {@code setDisableHolidaysAndShabbat(true)}. */
+    public static final int ALL_CATEGORIES = YOM_TOV | SHABBAT | FAST | YOM_KIPPUR;
+
+    private static final int CATEGORY_COUNT = 4;
+    private static final int MAX_DAYS_IN_YEAR = 385;
+    private static final int WORDS_PER_CATEGORY = (MAX_DAYS_IN_YEAR + 63) / 64;
+
+    private static final HolidayIndex sIsrael = new HolidayIndex(true);
+    private static final HolidayIndex sDiaspora = new HolidayIndex(false);
+
+    private final boolean inIsrael;
+    private final ConcurrentHashMap<Integer, YearBits> years = new ConcurrentHashMap<>();
+    // The year looked up last; consecutive lookups in the same year skip the map (and the boxing).
+    private volatile YearBits lastYear;
+
+    private HolidayIndex(boolean inIsrael) {
+        this.inIsrael = inIsrael;
+    }
+
+    /**
+     * @param inIsrael {@code true} for the Israeli holiday schedule, {@code false} for the diaspora.
+     * @return The shared index for that schedule.
+     */
+    public static HolidayIndex getInstance(boolean inIsrael) {
+        return inIsrael ? sIsrael : sDiaspora;
+    }
+
+    public boolean isInIsrael() {
+        return inIsrael;
+    }
+
+    /**
+     * Returns the categories of a day as a combination of {@link #YOM_TOV}, {@link #SHABBAT},
+     * {@link #FAST} and {@link #YOM_KIPPUR}.
+     * @param year The Hebrew year.
+     * @param dayOfYear The day of the year, 0 for 1 Tishrei.
+     */
+    public int getCategories(int year, int dayOfYear) {
+        YearBits bits = getYear(year);
+        if (dayOfYear < 0 || dayOfYear >= bits.length) {
+            throw new IllegalArgumentException("Day " + dayOfYear + " is outside year " + year);
+        }
+        int word = dayOfYear >>> 6;
+        long bit = 1L << dayOfYear;
+        int categories = 0;
+        for (int c = 0; c < CATEGORY_COUNT; c++) {
+            if ((bits.words[c * WORDS_PER_CATEGORY + word] & bit) != 0) {
+                categories |= 1 << c;
+            }
+        }
+        return categories;
+    }
+
+    /** @return The categories of the date held by {@code date}. */
+    public int getCategories(JewishCalendar date) {
+        return getCategories(date.getJewishYear(), date.getDaysSinceStartOfJewishYear() - 1);
+    }
+
+    /** @return Whether the day belongs to any of the categories in {@code mask}. */
+    public boolean isBlocked(int year, int dayOfYear, int mask) {
+        return (getCategories(year, dayOfYear) & mask) != 0;
+    }
+
+    /** @return Whether the date belongs to any of the categories in {@code mask}. */
+    public boolean isBlocked(JewishCalendar date, int mask) {
+        return (getCategories(date) & mask) != 0;
+    }
+
+    /**
+     * Counts the days from {@code fromAbs} to {@code toAbs} (absolute days, see
+     * {@link HebrewCalendarMath}), both inclusive, that belong to any of the categories in
+     * {@code mask}. Each year keeps prefix sums of its bitset, so this takes a few operations per
+     * year of the range rather than one per day.
+     */
+    public int countDays(int fromAbs, int toAbs, int mask) {
+        int count = 0;
+        int year = HebrewCalendarMath.yearOfAbs(fromAbs);
+        int start = HebrewCalendarMath.roshHashanaAbs(year);
+        while (start <= toAbs) {
+            YearBits bits = getYear(year);
+            Ranks ranks = bits.ranks(mask);
+            int from = Math.max(fromAbs, start) - start;
+            int to = Math.min(toAbs - start + 1, bits.length);
+            if (from < to) {
+                count += ranks.rank(to) - ranks.rank(from);
+            }
+            start += bits.length;
+            year++;
+        }
+        return count;
+    }
+
+    /**
+     * @param month The month, using the {@link JewishCalendar} constants.
+     * @return The days of the month that belong to any of the categories in {@code mask}, as a
+     *         bitset in the {@link DateAvailabilityProvider} layout: bit {@code day - 1} per day.
+     */
+    int getMonthMask(int year, int month, int mask) {
+        long[] union = getYear(year).ranks(mask).union;
+        int first = HebrewCalendarMath.dayOfYear(year, month, 1);
+        int word = first >>> 6;
+        int shift = first & 63;
+        long bits = union[word] >>> shift;
+        if (shift != 0 && word + 1 < union.length) {
+            bits |= union[word + 1] << (64 - shift);
+        }
+        return (int) bits & ((1 << HebrewCalendarMath.daysInMonth(year, month)) - 1);
+    }
+
+    /**
+     * Computes the bitsets for a range of years ahead of time, e.g. on a background thread.
+     * @param fromYear The first Hebrew year, inclusive.
+     * @param toYear The last Hebrew year, inclusive.
+     */
+    public void preload(int fromYear, int toYear) {
+        for (int year = fromYear; year <= toYear; year++) {
+            getYear(year);
+        }
+    }
+
+    private YearBits getYear(int year) {
+        YearBits last = lastYear;
+        if (last != null && last.year == year) {
+            return last;
+        }
+        YearBits bits = years.get(year);
+        if (bits == null) {
+            bits = compute(year);
+            YearBits raced = years.putIfAbsent(year, bits);
+            if (raced != null) {
+                bits = raced;
+            }
+        }
+        lastYear = bits;
+        return bits;
+    }
+
+    private YearBits compute(int year) {
+        JewishCalendar cal = new JewishCalendar(year, JewishCalendar.TISHREI, 1);
+        cal.setInIsrael(inIsrael);
+        int length = cal.getDaysInJewishYear();
+        long[] words = new long[CATEGORY_COUNT * WORDS_PER_CATEGORY];
+        for (int day = 0; day < length; day++) {
+            if (day > 0) {
+                cal.forward(Calendar.DATE, 1);
+            }
+            int categories = 0;
+            int yomTovIndex = cal.getYomTovIndex();
+            if (yomTovIndex == JewishCalendar.YOM_KIPPUR) {
+                categories |= YOM_KIPPUR;
+            } else {
+                if (yomTovIndex != -1) {
+                    categories |= YOM_TOV;
+                }
+                if (cal.isTaanis()) {
+                    categories |= FAST;
+                }
+            }
+            if (cal.getDayOfWeek() == 7) {
+                categories |= SHABBAT;
+            }
+            for (int c = 0; c < CATEGORY_COUNT; c++) {
+                if ((categories & (1 << c)) != 0) {
+                    words[c * WORDS_PER_CATEGORY + (day >>> 6)] |= 1L << day;
+                }
+            }
+        }
+        return new YearBits(year, length, words);
+    }
+
+    private static final class YearBits {
+        final int year;
+        final int length;
+        // CATEGORY_COUNT consecutive bitsets of WORDS_PER_CATEGORY words each.
+        final long[] words;
+
+        // The prefix sums for the mask counted last; masks rarely change, so one is kept.
+        private volatile Ranks ranks;
+
+        YearBits(int year, int length, long[] words) {
+            this.year = year;
+            this.length = length;
+            this.words = words;
+        }
+
+        Ranks ranks(int mask) {
+            Ranks r = ranks;
+            if (r == null || r.mask != mask) {
+                r = new Ranks(mask, words);
+                ranks = r;
+            }
+            return r;
+        }
+    }
+
+    /** The union of some categories' bitsets for one year, with the number of set days before each word. */
+    private static final class Ranks {
+        final int mask;
+        final long[] union = new long[WORDS_PER_CATEGORY];
+        final int[] before = new int[WORDS_PER_CATEGORY + 1];
+
+        Ranks(int mask, long[] words) {
+            this.mask = mask;
+            for (int c = 0; c < CATEGORY_COUNT; c++) {
+                if ((mask & (1 << c)) == 0) continue;
+                for (int w = 0; w < WORDS_PER_CATEGORY; w++) {
+                    union[w] |= words[c * WORDS_PER_CATEGORY + w];
+                }
+            }
+            for (int w = 0; w < WORDS_PER_CATEGORY; w++) {
+                before[w + 1] = before[w] + Long.bitCount(union[w]);
+            }
+        }
+
+        /** @return The number of set days before day of year {@code day}. */
+        int rank(int day) {
+            int word = day >>> 6;
+            int bit = day & 63;
+            int rank = before[word];
+            if (bit != 0) {
+                rank += Long.bitCount(union[word] & ((1L << bit) - 1));
+            }
+            return rank;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+/**
+ * An immutable, pure-Java model of one Hebrew month as shown in the picker grid.
+ * <p>
+ * The grid keeps everything the adapter needs in primitive arrays: the number of empty
+ * leading cells, the number of days, and a flags word per day. Day labels come from a
+ * single shared table, so binding a cell never formats a number.
+ * Instances are created through {@link MonthGridCache} and are safe to share between threads.
+ */
+final class MonthGrid {
+
+    /** The day cannot be selected. */
+    static final int FLAG_DISABLED = 1;
+    /** The day is before today; only set when built with {@link #OPTION_DISABLE_PAST}. */
+    static final int FLAG_PAST = 1 << 1;
+    /** The day is Shabbat. */
+    static final int FLAG_SHABBAT = 1 << 2;
+    /** KosherJava reports a yom tov index for the day (other than Yom Kippur). */
+    static final int FLAG_YOM_TOV = 1 << 3;
+    /** The day is a fast day, including Yom Kippur. */
+    static final int FLAG_FAST = 1 << 4;
+    /** The app's {@link DateAvailabilityProvider} blocked the day. */
+    static final int FLAG_UNAVAILABLE = 1 << 5;
+    /** The app's blocked days are still loading, so the day cannot be selected yet. */
+    static final int FLAG_PENDING = 1 << 6;
+    /** The day is outside the picker's min/max dates; only set by {@link #withBounds(int, int)}. */
+    static final int FLAG_OUT_OF_RANGE = 1 << 7;
+
+    /** Build option: days before today are disabled. */
+    static final int OPTION_DISABLE_PAST = 1;
+    /** Build option: Shabbat, yom tov and fast days are disabled. */
+    static final int OPTION_DISABLE_HOLIDAYS = 1 << 1;
+    /** Build option: use the Israeli holiday schedule instead of the diaspora one. */
+    static final int OPTION_IN_ISRAEL = 1 << 2;
+
+    private static final String[] DAY_LABELS = new String[31];
+
+    static {
+        DAY_LABELS[0] = "";
+        for (int d = 1; d < DAY_LABELS.length; d++) {
+            DAY_LABELS[d] = HebrewDateFormatter.toGematria(d).intern();
+        }
+    }
+
+    final int year;
+    final int month;
+    /** The absolute day of the 1st of the month. */
+    final int firstAbs;
+    final int options;
+    /** Today's absolute day at build time; only meaningful with {@link #OPTION_DISABLE_PAST}. */
+    final int todayAbs;
+    /**
+     * The {@link DateAvailabilityProvider} bitset the grid was built with: 0 if none, or
+     * {@link AvailabilityCache#PENDING} while it loads.
+     */
+    final int unavailableDays;
+    /** Number of empty cells before the first day (0 = the month starts on Sunday). */
+    final int leadingOffset;
+    final int dayCount;
+    /** Flags for each day, indexed by {@code day - 1}. */
+    private final int[] dayFlags;
+
+    private MonthGrid(int year, int month, int firstAbs, int options, int todayAbs, int unavailableDays, int leadingOffset,
+                      int[] dayFlags) {
+        this.year = year;
+        this.month = month;
+        this.firstAbs = firstAbs;
+        this.options = options;
+        this.todayAbs = todayAbs;
+        this.unavailableDays = unavailableDays;
+        this.leadingOffset = leadingOffset;
+        this.dayCount = dayFlags.length;
+        this.dayFlags = dayFlags;
+    }
+
+    /**
+     * Computes the grid for a month. Holiday data comes from the precomputed {@link HolidayIndex},
+     * so no per-day calendar calculations are needed.
+     * @param year The Hebrew year.
+     * @param month The month, using the {@link JewishCalendar} constants.
+     * @param options A combination of the {@code OPTION_*} constants.
+     * @param todayAbs Today's absolute day, see {@link HebrewCalendarMath#todayAbs()}.
+     */
+    static MonthGrid compute(int year, int month, int options, int todayAbs) {
+        return compute(year, month, options, todayAbs, 0);
+    }
+
+    /**
+     * Computes the grid for a month, also disabling the days an app blocked.
+     * @param unavailableDays A {@link DateAvailabilityProvider} bitset: bit {@code day - 1} blocks the day.
+     *                        {@link AvailabilityCache#PENDING} marks every day as pending instead.
+     */
+    static MonthGrid compute(int year, int month, int options, int todayAbs, int unavailableDays) {
+        int firstDayOfYear = HebrewCalendarMath.dayOfYear(year, month, 1);
+        int firstAbs = HebrewCalendarMath.roshHashanaAbs(year) + firstDayOfYear;
+        int leadingOffset = HebrewCalendarMath.dayOfWeek(firstAbs) - 1;
+        HolidayIndex holidays = HolidayIndex.getInstance((options & OPTION_IN_ISRAEL) != 0);
+        int[] flags = new int[HebrewCalendarMath.daysInMonth(year, month)];
+        for (int i = 0; i < flags.length; i++) {
+            int categories = holidays.getCategories(year, firstDayOfYear + i);
+            int f = 0;
+            if ((options & OPTION_DISABLE_PAST) != 0 && firstAbs + i < todayAbs) {
+                f |= FLAG_PAST | FLAG_DISABLED;
+            }
+            if ((categories & HolidayIndex.SHABBAT) != 0) {
+                f |= FLAG_SHABBAT;
+            }
+            if ((categories & HolidayIndex.YOM_TOV) != 0) {
+                f |= FLAG_YOM_TOV;
+            }
+            if ((categories & (HolidayIndex.FAST | HolidayIndex.YOM_KIPPUR)) != 0) {
+                f |= FLAG_FAST;
+            }
+            if ((options & OPTION_DISABLE_HOLIDAYS) != 0 && (categories & HolidayIndex.ALL_CATEGORIES) != 0) {
+                f |= FLAG_DISABLED;
+            }
+            if (unavailableDays == AvailabilityCache.PENDING) {
+                f |= FLAG_PENDING;
+            } else if ((unavailableDays & (1 << i)) != 0) {
+                f |= FLAG_UNAVAILABLE | FLAG_DISABLED;
+            }
+            flags[i] = f;
+        }
+        int storedToday = (options & OPTION_DISABLE_PAST) != 0 ? todayAbs : 0;
+        return new MonthGrid(year, month, firstAbs, options, storedToday, unavailableDays, leadingOffset, flags);
+    }
+
+    /**
+     * Counts the days from {@code fromAbs} to {@code toAbs}, both inclusive, that a grid built
+     * with {@code options} would disable, without building the grids. Past days are one
+     * subtraction, Shabbat and holidays come from {@link HolidayIndex#countDays}, and the app's
+     * blocked days are counted with {@link Integer#bitCount} on the answers already in
+     * {@code availability}; months whose answer has not arrived count none of their app-blocked days.
+     * The count is then a lower bound, see {@link AvailabilityCache#isKnown(int, int)}.
+     * @param availability The app's blocked days, or null.
+     */
+    static int countDisabled(int fromAbs, int toAbs, int options, int todayAbs, AvailabilityCache availability) {
+        if (fromAbs > toAbs) return 0;
+        int count = 0;
+        int from = fromAbs;
+        if ((options & OPTION_DISABLE_PAST) != 0 && from < todayAbs) {
+            int lastPast = Math.min(toAbs, todayAbs - 1);
+            count += lastPast - from + 1;
+            from = lastPast + 1;
+            if (from > toAbs) return count;
+        }
+        HolidayIndex holidays = HolidayIndex.getInstance((options & OPTION_IN_ISRAEL) != 0);
+        boolean holidaysDisabled = (options & OPTION_DISABLE_HOLIDAYS) != 0;
+        if (holidaysDisabled) {
+            count += holidays.countDays(from, toAbs, HolidayIndex.ALL_CATEGORIES);
+        }
+        if (availability != null) {
+            int[] months = new int[availability.capacity()];
+            int[] masks = new int[months.length];
+            int known = availability.copyKnown(months, masks);
+            for (int i = 0; i < known; i++) {
+                int year = HebrewCalendarMath.yearOf(months[i]);
+                int month = HebrewCalendarMath.monthOf(months[i]);
+                int firstAbs = HebrewCalendarMath.toAbs(year, month, 1);
+                int first = Math.max(from - firstAbs, 0);
+                int last = Math.min(toAbs - firstAbs, HebrewCalendarMath.daysInMonth(year, month) - 1);
+                if (first > last) continue;
+                int mask = masks[i] & ((1 << (last + 1)) - 1) & -(1 << first);
+                if (holidaysDisabled) {
+                    // Already counted as holidays.
+                    mask &= ~holidays.getMonthMask(year, month, HolidayIndex.ALL_CATEGORIES);
+                }
+                count += Integer.bitCount(mask);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Applies the picker's min/max dates. The bounds are not part of the cache key: a month that
+     * lies entirely inside them, which is every month but the first and the last, is this grid
+     * itself, and only the two boundary months are copied with their outside days disabled.
+     * @param minAbs The first selectable absolute day, or 0 for no bound.
+     * @param maxAbs The last selectable absolute day, or {@link Integer#MAX_VALUE} for no bound.
+     */
+    MonthGrid withBounds(int minAbs, int maxAbs) {
+        if (firstAbs >= minAbs && firstAbs + dayCount - 1 <= maxAbs) return this;
+        int[] flags = dayFlags.clone();
+        for (int i = 0; i < flags.length; i++) {
+            int abs = firstAbs + i;
+            if (abs < minAbs || abs > maxAbs) {
+                flags[i] |= FLAG_OUT_OF_RANGE | FLAG_DISABLED;
+            }
+        }
+        return new MonthGrid(year, month, firstAbs, options, todayAbs, unavailableDays, leadingOffset, flags);
+    }
+
+    /** @return The number of cells in the grid, including the leading empty cells. */
+    int getCellCount() {
+        return leadingOffset + dayCount;
+    }
+
+    /** @return The day of month shown at {@code position}, or 0 for a leading empty cell. */
+    int getDayAt(int position) {
+        int day = position - leadingOffset + 1;
+        return (day < 1 || day > dayCount) ? 0 : day;
+    }
+
+    /** @return The grid position of {@code day}. */
+    int getPositionOf(int day) {
+        return day + leadingOffset - 1;
+    }
+
+    /** @return The flags of {@code day}, or 0 if the day is outside the month. */
+    int getFlags(int day) {
+        return (day < 1 || day > dayCount) ? 0 : dayFlags[day - 1];
+    }
+
+    boolean isDisabled(int day) {
+        return (getFlags(day) & FLAG_DISABLED) != 0;
+    }
+
+    boolean isPending(int day) {
+        return (getFlags(day) & FLAG_PENDING) != 0;
+    }
+
+    /** @return The shared gematria label for the cell at {@code position} ("" for empty cells). */
+    String getLabelAt(int position) {
+        return DAY_LABELS[getDayAt(position)];
+    }
+
+    /** Whether a cached copy of this grid can still be used when today is {@code todayAbs}. */
+    boolean isValidFor(int todayAbs) {
+        return (options & OPTION_DISABLE_PAST) == 0 || this.todayAbs == todayAbs;
+    }
+
+    /** Like {@link #isValidFor(int)}, and the grid was also built with the same blocked days. */
+    boolean isValidFor(int todayAbs, int unavailableDays) {
+        return this.unavailableDays == unavailableDays && isValidFor(todayAbs);
+    }
+}
@@ -0,0 +1,122 @@
+package com.yt.hebrewdatepicker;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * A small, bounded LRU cache of {@link MonthGrid} instances keyed by (year, month, options).
+ * <p>
+ * The cache is a fixed set of slots scanned linearly, so a lookup never allocates. Grids are
+ * computed outside the lock, which lets a background thread fill the cache without blocking
+ * the UI thread. A single shared instance is used by all picker dialogs; {@link #prefetch}
+ * fills it ahead of time on a background thread.
+ */
+final class MonthGridCache {
+
+    private static final int DEFAULT_CAPACITY = 24;
+    private static final MonthGridCache sShared = new MonthGridCache(DEFAULT_CAPACITY);
+
+    private static Executor sPrefetchExecutor;
+
+    private final int[] keys;
+    private final MonthGrid[] grids;
+    private final long[] lastUsed;
+    private long clock;
+
+    MonthGridCache(int capacity) {
+        keys = new int[capacity];
+        grids = new MonthGrid[capacity];
+        lastUsed = new long[capacity];
+    }
+
+    static MonthGridCache getShared() {
+        return sShared;
+    }
+
+    /**
+     * Returns the grid for the given month, computing and caching it on a miss.
+     * @param todayAbs Today's absolute day; cached grids built for another day are
+     *                 recomputed when past dates are disabled.
+     */
+    MonthGrid get(int year, int month, int options, int todayAbs) {
+        return get(year, month, options, todayAbs, 0);
+    }
+
+    /**
+     * Returns the grid for the given month with the app's blocked days merged in.
+     * @param availability The dialog's cache of {@link DateAvailabilityProvider} answers, or null.
+     */
+    MonthGrid get(int year, int month, int options, int todayAbs, AvailabilityCache availability) {
+        return get(year, month, options, todayAbs, availability == null ? 0 : availability.get(year, month));
+    }
+
+    /**
+     * @param unavailableDays A {@link DateAvailabilityProvider} bitset; a cached grid built with
+     *                        other blocked days is recomputed.
+     */
+    MonthGrid get(int year, int month, int options, int todayAbs, int unavailableDays) {
+        int key = keyOf(year, month, options);
+        synchronized (this) {
+            for (int i = 0; i < grids.length; i++) {
+                MonthGrid grid = grids[i];
+                if (grid != null && keys[i] == key && grid.isValidFor(todayAbs, unavailableDays)) {
+                    lastUsed[i] = ++clock;
+                    return grid;
+                }
+            }
+        }
+        MonthGrid grid = MonthGrid.compute(year, month, options, todayAbs, unavailableDays);
+        put(key, grid);
+        return grid;
+    }
+
+    /**
+     * Computes and caches a month on a background thread, so that a later {@link #get} on the
+     * UI thread is a cache hit. Requests run one at a time, in order; the availability provider,
+     * if any, is also asked on that thread.
+     */
+    void prefetch(int year, int month, int options, int todayAbs, AvailabilityCache availability) {
+        getPrefetchExecutor().execute(() -> get(year, month, options, todayAbs, availability));
+    }
+
+    private static synchronized Executor getPrefetchExecutor() {
+        if (sPrefetchExecutor == null) {
+            sPrefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "MonthGridPrefetch");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return sPrefetchExecutor;
+    }
+
+    /** Drops every cached grid. */
+    synchronized void clear() {
+        for (int i = 0; i < grids.length; i++) {
+            grids[i] = null;
+            lastUsed[i] = 0;
+        }
+    }
+
+    private synchronized void put(int key, MonthGrid grid) {
+        // Reuse the slot of an outdated grid for the same key, otherwise evict the least recently used one.
+        int slot = 0;
+        for (int i = 0; i < grids.length; i++) {
+            if (grids[i] != null && keys[i] == key) {
+                slot = i;
+                break;
+            }
+            if (lastUsed[i] < lastUsed[slot]) {
+                slot = i;
+            }
+        }
+        keys[slot] = key;
+        grids[slot] = grid;
+        lastUsed[slot] = ++clock;
+    }
+
+    private static int keyOf(int year, int month, int options) {
+        return (year << 8) | (month << 4) | options;
+    }
+}
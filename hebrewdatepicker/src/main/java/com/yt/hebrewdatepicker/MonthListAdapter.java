@@ -0,0 +1,314 @@
+package com.yt.hebrewdatepicker;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+
+/**
+ * The items of the continuous month list: one titled {@link CalendarAdapter} grid per month.
+ * <p>
+ * The adapter holds a sliding window of months rather than every month. When the visible
+ * months come within half a page of either end of the window, another page of
+ * {@link #PAGE_SIZE} months is added on that side, and once the window is longer than
+ * {@link #MAX_PAGES} pages the page furthest from the visible months is dropped. The window is
+ * just a first month and a count, grids come from the bounded {@link MonthGridCache}, and every
+ * month shares one {@link RecyclerView.RecycledViewPool} of day cells, so memory stays flat
+ * however far the user scrolls.
+ */
+final class MonthListAdapter extends RecyclerView.Adapter<MonthListAdapter.MonthHolder> {
+
+    /** Months added or dropped at a time. */
+    static final int PAGE_SIZE = 12;
+    private static final int MAX_PAGES = 4;
+    /** The most day cells a month can show, 6 rows of 7. */
+    private static final int MAX_CELLS = 42;
+    /** Payload: only the days' state changed, so the month is rebound in place rather than replaced. */
+    private static final Object PAYLOAD_DAYS = new Object();
+
+    interface OnDateClickListener {
+        /** @param date The tapped day, as a {@link HebrewDate}. */
+        void onDateClick(int date);
+    }
+
+    /** The earliest and latest months that may be shown, or 0 for no bound. */
+    private final int minMonth;
+    private final int maxMonth;
+    private final int options;
+    private final int todayAbs;
+    /** The first and last selectable absolute days; 0 and {@link Integer#MAX_VALUE} for no bound. */
+    private final int minAbs;
+    private final int maxAbs;
+    private AvailabilityCache availability;
+    private EventIndex events;
+    /** Scratch for {@link EventIndex#getMonthCounts(int, int, int[])}; bind runs on the main thread only. */
+    private final int[] eventCounts = new int[30];
+    private final OnDateClickListener onDateClickListener;
+    private final RecyclerView.RecycledViewPool cellPool = new RecyclerView.RecycledViewPool();
+    private final Runnable updateWindow = this::updateWindow;
+    private RecyclerView recyclerView;
+    private boolean windowUpdatePending;
+    /** The first visible month when the neighbouring months were last prefetched. */
+    private int prefetchedFor;
+    private int firstMonth;
+    private int count;
+    /** The selected range as absolute days; a single selected day starts and ends on itself. */
+    private int rangeStartAbs;
+    private int rangeEndAbs;
+
+    /**
+     * @param month The month to start at, as a {@link HebrewDate}.
+     * @param options The {@link MonthGrid} build options.
+     * @param minAbs The first selectable absolute day, or 0 for no bound. The list starts at its month.
+     * @param maxAbs The last selectable absolute day, or {@link Integer#MAX_VALUE} for no bound. The
+     *               list ends at its month.
+     * @param availability The app's blocked days, or null.
+     * @param events The app's events, shown as counts on the days, or null.
+     */
+    MonthListAdapter(int month, int options, int todayAbs, int minAbs, int maxAbs, AvailabilityCache availability,
+                     EventIndex events, int selectedDate, OnDateClickListener onDateClickListener) {
+        this.minMonth = minAbs == 0 ? 0 : HebrewDate.monthStart(HebrewDate.fromAbs(minAbs));
+        this.maxMonth = maxAbs == Integer.MAX_VALUE ? 0 : HebrewDate.monthStart(HebrewDate.fromAbs(maxAbs));
+        this.options = options;
+        this.todayAbs = todayAbs;
+        this.minAbs = minAbs;
+        this.maxAbs = maxAbs;
+        this.availability = availability;
+        this.events = events;
+        this.rangeStartAbs = HebrewDate.toAbs(selectedDate);
+        this.rangeEndAbs = rangeStartAbs;
+        this.onDateClickListener = onDateClickListener;
+        // A few months are on screen at once, plus the ones scrolling in and out.
+        cellPool.setMaxRecycledViews(0, MAX_CELLS * 4);
+        resetWindow(month);
+    }
+
+    /** @return The first day of the month at {@code position}. */
+    int getMonthAt(int position) {
+        return HebrewDate.plusMonths(firstMonth, position);
+    }
+
+    /**
+     * @return The position of {@code month}. If the month is outside the window, the window is
+     *         moved to surround it first.
+     */
+    int getPositionOf(int month) {
+        int position = HebrewDate.monthsBetween(firstMonth, month);
+        if (position >= 0 && position < count) {
+            return position;
+        }
+        resetWindow(month);
+        notifyDataSetChanged();
+        return HebrewDate.monthsBetween(firstMonth, month);
+    }
+
+    /**
+     * Selects the days from {@code startAbs} to {@code endAbs}, rebinding only the months in the
+     * window that the old and the new range touch.
+     */
+    void setSelection(int startAbs, int endAbs) {
+        if (startAbs == rangeStartAbs && endAbs == rangeEndAbs) return;
+        int oldFirst = positionOfAbs(rangeStartAbs);
+        int oldLast = positionOfAbs(rangeEndAbs);
+        rangeStartAbs = startAbs;
+        rangeEndAbs = endAbs;
+        int newFirst = positionOfAbs(startAbs);
+        int newLast = positionOfAbs(endAbs);
+        notifyPositions(oldFirst, oldLast);
+        if (newLast < oldFirst || newFirst > oldLast) {
+            notifyPositions(newFirst, newLast);
+        } else {
+            // Overlapping: only the parts outside the old range are new.
+            notifyPositions(newFirst, oldFirst - 1);
+            notifyPositions(oldLast + 1, newLast);
+        }
+    }
+
+    private int positionOfAbs(int abs) {
+        return HebrewDate.monthsBetween(firstMonth, HebrewDate.fromAbs(abs));
+    }
+
+    private void notifyPositions(int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, count - 1);
+        if (from <= to) notifyItemRangeChanged(from, to - from + 1, PAYLOAD_DAYS);
+    }
+
+    /** Replaces the events shown on the days; the caller rebinds. */
+    void setEventIndex(EventIndex events) {
+        this.events = events;
+    }
+
+    /** Replaces the app's blocked days, or null for none; the caller rebinds. */
+    void setAvailability(AvailabilityCache availability) {
+        this.availability = availability;
+    }
+
+    /** Rebinds {@code month} if it is in the window, e.g. after its blocked days have loaded. */
+    void notifyMonthChanged(int month) {
+        int position = HebrewDate.monthsBetween(firstMonth, month);
+        if (position >= 0 && position < count) notifyItemChanged(position, PAYLOAD_DAYS);
+    }
+
+    private void resetWindow(int month) {
+        int start = HebrewDate.plusMonths(month, -PAGE_SIZE);
+        if (minMonth != 0 && HebrewDate.compareMonths(start, minMonth) < 0) {
+            start = minMonth;
+        }
+        firstMonth = start;
+        count = 3 * PAGE_SIZE;
+        if (maxMonth != 0) {
+            count = Math.max(1, Math.min(count, HebrewDate.monthsBetween(start, maxMonth) + 1));
+        }
+    }
+
+    private final RecyclerView.OnScrollListener scrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            // The adapter can't be changed from inside a scroll callback, so the window moves on the next frame.
+            if (!windowUpdatePending) {
+                windowUpdatePending = true;
+                recyclerView.post(updateWindow);
+            }
+        }
+    };
+
+    /** Grows the window towards the visible months and drops the page furthest from them. */
+    private void updateWindow() {
+        windowUpdatePending = false;
+        if (recyclerView == null) return;
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) return;
+
+        int appended = PAGE_SIZE;
+        if (maxMonth != 0) {
+            appended = Math.min(appended, HebrewDate.monthsBetween(getMonthAt(count - 1), maxMonth));
+        }
+        if (last >= count - PAGE_SIZE / 2 && appended > 0) {
+            count += appended;
+            notifyItemRangeInserted(count - appended, appended);
+            if (count > MAX_PAGES * PAGE_SIZE && first >= 2 * PAGE_SIZE) {
+                firstMonth = HebrewDate.plusMonths(firstMonth, PAGE_SIZE);
+                count -= PAGE_SIZE;
+                notifyItemRangeRemoved(0, PAGE_SIZE);
+                first -= PAGE_SIZE;
+                last -= PAGE_SIZE;
+            }
+        } else if (first < PAGE_SIZE / 2) {
+            int added = PAGE_SIZE;
+            if (minMonth != 0) {
+                added = Math.min(added, HebrewDate.monthsBetween(minMonth, firstMonth));
+            }
+            if (added > 0) {
+                firstMonth = HebrewDate.plusMonths(firstMonth, -added);
+                count += added;
+                notifyItemRangeInserted(0, added);
+                first += added;
+                last += added;
+                if (count > MAX_PAGES * PAGE_SIZE && last < count - 2 * PAGE_SIZE) {
+                    count -= PAGE_SIZE;
+                    notifyItemRangeRemoved(count, PAGE_SIZE);
+                }
+            }
+        }
+        // Compute the months just outside the screen before they scroll in.
+        int firstMonthShown = getMonthAt(first);
+        if (firstMonthShown != prefetchedFor) {
+            prefetchedFor = firstMonthShown;
+            prefetch(first - 1);
+            prefetch(last + 1);
+        }
+    }
+
+    private void prefetch(int position) {
+        if (position >= 0 && position < count) {
+            int month = getMonthAt(position);
+            MonthGridCache.getShared().prefetch(HebrewDate.year(month), HebrewDate.month(month), options, todayAbs, availability);
+        }
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        this.recyclerView = recyclerView;
+        recyclerView.addOnScrollListener(scrollListener);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(scrollListener);
+        recyclerView.removeCallbacks(updateWindow);
+        windowUpdatePending = false;
+        this.recyclerView = null;
+    }
+
+    @Override
+    public int getItemCount() {
+        return count;
+    }
+
+    @NonNull
+    @Override
+    public MonthHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.calendar_month_item, parent, false);
+        return new MonthHolder(view, this);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull MonthHolder holder, int position) {
+        int month = getMonthAt(position);
+        int year = HebrewDate.year(month);
+        int monthOfYear = HebrewDate.month(month);
+        MonthGrid grid = MonthGridCache.getShared().get(year, monthOfYear, options, todayAbs, availability)
+                .withBounds(minAbs, maxAbs);
+        if (month != holder.month) {
+            holder.title.setText(HebrewDateFormatter.formatMonth(monthOfYear, HebrewCalendarMath.isLeapYear(year))
+                    + " ה'" + HebrewDateFormatter.toGematria(year % 1000));
+        }
+        holder.month = month;
+        holder.grid = grid;
+        if (events != null) {
+            events.getMonthCounts(year, monthOfYear, eventCounts);
+        }
+        holder.adapter.setMonthGrid(grid, rangeStartAbs, rangeEndAbs, events != null ? eventCounts : null);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull MonthHolder holder, int position, @NonNull List<Object> payloads) {
+        // A selection, availability or event change rebinds the same month; CalendarAdapter diffs it down to the changed cells.
+        onBindViewHolder(holder, position);
+    }
+
+    static final class MonthHolder extends RecyclerView.ViewHolder implements CalendarAdapter.OnItemListener {
+        final TextView title;
+        final CalendarAdapter adapter;
+        private final MonthListAdapter listAdapter;
+        int month;
+        MonthGrid grid;
+
+        MonthHolder(@NonNull View itemView, MonthListAdapter listAdapter) {
+            super(itemView);
+            this.listAdapter = listAdapter;
+            title = itemView.findViewById(R.id.tv_month_title);
+            RecyclerView days = itemView.findViewById(R.id.month_grid);
+            days.setRecycledViewPool(listAdapter.cellPool);
+            days.setNestedScrollingEnabled(false);
+            adapter = new CalendarAdapter(this);
+            days.setAdapter(adapter);
+        }
+
+        @Override
+        public void onItemClick(int position) {
+            int day = grid == null ? 0 : grid.getDayAt(position);
+            if (day != 0 && listAdapter.onDateClickListener != null) {
+                listAdapter.onDateClickListener.onDateClick(HebrewDate.of(HebrewDate.year(month), HebrewDate.month(month), day));
+            }
+        }
+    }
+}
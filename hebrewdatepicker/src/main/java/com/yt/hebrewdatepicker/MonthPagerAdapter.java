@@ -0,0 +1,196 @@
+package com.yt.hebrewdatepicker;
+
+import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+
+/**
+ * The pages of the swipeable month pager: one {@link CalendarAdapter} grid per month.
+ * <p>
+ * Page {@code n} shows the month {@code n} months after the first page, computed with
+ * {@link HebrewDate#plusMonths(int, int)}, the same arithmetic the arrow buttons use. All pages
+ * share one {@link RecyclerView.RecycledViewPool}, so swiping reuses day cells instead of
+ * inflating new ones, and {@link #prefetchAround(int)} computes the neighbouring months on a
+ * background thread before the user swipes to them.
+ */
+final class MonthPagerAdapter extends RecyclerView.Adapter<MonthPagerAdapter.PageHolder> {
+
+    /** Number of months the pager covers at most, about 200 years. */
+    static final int PAGE_COUNT = 2400;
+    /** The most day cells a month can show, 6 rows of 7. */
+    private static final int MAX_CELLS = 42;
+    /** Payload: only the days' state changed, so the page is rebound in place rather than replaced. */
+    private static final Object PAYLOAD_DAYS = new Object();
+
+    private final int firstMonth;
+    /** The number of pages: {@link #PAGE_COUNT}, or fewer when a max date ends the pager earlier. */
+    private final int pageCount;
+    private final int options;
+    private final int todayAbs;
+    /** The first and last selectable absolute days; 0 and {@link Integer#MAX_VALUE} for no bound. */
+    private final int minAbs;
+    private final int maxAbs;
+    private AvailabilityCache availability;
+    private EventIndex events;
+    /** Scratch for {@link EventIndex#getMonthCounts(int, int, int[])}; bind runs on the main thread only. */
+    private final int[] eventCounts = new int[30];
+    private final CalendarAdapter.OnItemListener onItemListener;
+    private final RecyclerView.RecycledViewPool cellPool = new RecyclerView.RecycledViewPool();
+    /** The selected range as absolute days; a single selected day starts and ends on itself. */
+    private int rangeStartAbs;
+    private int rangeEndAbs;
+
+    /**
+     * @param firstMonth The month of the first page, as a {@link HebrewDate}.
+     * @param options The {@link MonthGrid} build options.
+     * @param minAbs The first selectable absolute day, or 0 for no bound.
+     * @param maxAbs The last selectable absolute day, or {@link Integer#MAX_VALUE} for no bound. Its
+     *               month is the last page.
+     * @param availability The app's blocked days, or null.
+     * @param events The app's events, shown as counts on the days, or null.
+     */
+    MonthPagerAdapter(int firstMonth, int options, int todayAbs, int minAbs, int maxAbs, AvailabilityCache availability,
+                      EventIndex events, int selectedDate, CalendarAdapter.OnItemListener onItemListener) {
+        this.firstMonth = HebrewDate.monthStart(firstMonth);
+        this.pageCount = maxAbs == Integer.MAX_VALUE ? PAGE_COUNT
+                : Math.max(1, Math.min(PAGE_COUNT, HebrewDate.monthsBetween(this.firstMonth, HebrewDate.fromAbs(maxAbs)) + 1));
+        this.options = options;
+        this.todayAbs = todayAbs;
+        this.minAbs = minAbs;
+        this.maxAbs = maxAbs;
+        this.availability = availability;
+        this.events = events;
+        this.rangeStartAbs = HebrewDate.toAbs(selectedDate);
+        this.rangeEndAbs = rangeStartAbs;
+        this.onItemListener = onItemListener;
+        // The current page and its two neighbours can be on screen during a swipe.
+        cellPool.setMaxRecycledViews(0, MAX_CELLS * 3);
+    }
+
+    /** @return The first day of the month shown on {@code page}. */
+    int getMonthAt(int page) {
+        return HebrewDate.plusMonths(firstMonth, page);
+    }
+
+    /** @return Whether one of the pages shows {@code month}. */
+    boolean contains(int month) {
+        int page = HebrewDate.monthsBetween(firstMonth, month);
+        return page >= 0 && page < pageCount;
+    }
+
+    /**
+     * @return The page showing {@code month}, clamped to the pager's range. Check
+     *         {@link #contains(int)} first where the month may be outside it.
+     */
+    int getPageOf(int month) {
+        int page = HebrewDate.monthsBetween(firstMonth, month);
+        return Math.max(0, Math.min(pageCount - 1, page));
+    }
+
+    /**
+     * Selects the days from {@code startAbs} to {@code endAbs}, rebinding only the pages of the
+     * months the old and the new range touch.
+     */
+    void setSelection(int startAbs, int endAbs) {
+        if (startAbs == rangeStartAbs && endAbs == rangeEndAbs) return;
+        int oldFirst = pageOfAbs(rangeStartAbs);
+        int oldLast = pageOfAbs(rangeEndAbs);
+        rangeStartAbs = startAbs;
+        rangeEndAbs = endAbs;
+        int newFirst = pageOfAbs(startAbs);
+        int newLast = pageOfAbs(endAbs);
+        notifyPages(oldFirst, oldLast);
+        if (newLast < oldFirst || newFirst > oldLast) {
+            notifyPages(newFirst, newLast);
+        } else {
+            // Overlapping: only the parts outside the old range are new.
+            notifyPages(newFirst, oldFirst - 1);
+            notifyPages(oldLast + 1, newLast);
+        }
+    }
+
+    private int pageOfAbs(int abs) {
+        return HebrewDate.monthsBetween(firstMonth, HebrewDate.fromAbs(abs));
+    }
+
+    private void notifyPages(int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, pageCount - 1);
+        if (from <= to) notifyItemRangeChanged(from, to - from + 1, PAYLOAD_DAYS);
+    }
+
+    /** Replaces the events shown on the days; the caller rebinds. */
+    void setEventIndex(EventIndex events) {
+        this.events = events;
+    }
+
+    /** Replaces the app's blocked days, or null for none; the caller rebinds. */
+    void setAvailability(AvailabilityCache availability) {
+        this.availability = availability;
+    }
+
+    /** Rebinds the page of {@code month}, e.g. after its blocked days have loaded. */
+    void notifyMonthChanged(int month) {
+        int page = HebrewDate.monthsBetween(firstMonth, month);
+        if (page >= 0 && page < pageCount) notifyItemChanged(page, PAYLOAD_DAYS);
+    }
+
+    /** Starts computing the months on either side of {@code page} on a background thread. */
+    void prefetchAround(int page) {
+        for (int p = page - 1; p <= page + 1; p += 2) {
+            if (p >= 0 && p < pageCount) {
+                int month = getMonthAt(p);
+                MonthGridCache.getShared().prefetch(HebrewDate.year(month), HebrewDate.month(month), options, todayAbs, availability);
+            }
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return pageCount;
+    }
+
+    @NonNull
+    @Override
+    public PageHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        RecyclerView grid = new RecyclerView(parent.getContext());
+        grid.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        int padding = Math.round(5 * parent.getResources().getDisplayMetrics().density);
+        grid.setPadding(padding, padding, padding, padding);
+        grid.setLayoutManager(new GridLayoutManager(parent.getContext(), 7));
+        grid.setRecycledViewPool(cellPool);
+        CalendarAdapter adapter = new CalendarAdapter(onItemListener);
+        grid.setAdapter(adapter);
+        return new PageHolder(grid, adapter);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PageHolder holder, int position) {
+        int month = getMonthAt(position);
+        MonthGrid grid = MonthGridCache.getShared()
+                .get(HebrewDate.year(month), HebrewDate.month(month), options, todayAbs, availability)
+                .withBounds(minAbs, maxAbs);
+        if (events != null) {
+            events.getMonthCounts(HebrewDate.year(month), HebrewDate.month(month), eventCounts);
+        }
+        holder.adapter.setMonthGrid(grid, rangeStartAbs, rangeEndAbs, events != null ? eventCounts : null);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PageHolder holder, int position, @NonNull List<Object> payloads) {
+        // A selection, availability or event change rebinds the same page; CalendarAdapter diffs it down to the changed cells.
+        onBindViewHolder(holder, position);
+    }
+
+    static final class PageHolder extends RecyclerView.ViewHolder {
+        final CalendarAdapter adapter;
+
+        PageHolder(@NonNull RecyclerView grid, CalendarAdapter adapter) {
+            super(grid);
+            this.adapter = adapter;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.yt.hebrewdatepicker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * The month/year suggestions used by the "jump to date" dialog, e.g. "אלול תשפ״ה".
+ * <p>
+ * This class holds the Android-free part of the jump dialog: building the suggestion list,
+ * normalizing user input and filtering. Filtering goes through a {@link SuggestionIndex} that is
+ * built together with the list. Instances are immutable once built and safe to share.
+ * <p>
+ * One shared instance is kept for all dialogs. It can be built ahead of time on a background
+ * thread with {@link #prewarm(Executor)}; it is published through a volatile field, and callers
+ * that ask for it while a build is running are queued instead of starting a second build.
+ */
+final class MonthSuggestions {
+
+    /** Number of years before the current year that are suggested. */
+    static final int YEARS_BEFORE = 25;
+    /** Number of years covered by the suggestions. */
+    static final int YEAR_COUNT = 51;
+
+    private static final Object sLock = new Object();
+    private static volatile MonthSuggestions sShared;
+    // Guarded by sLock.
+    private static boolean sBuilding;
+    private static final List<Runnable> sWaiting = new ArrayList<>();
+
+    private final List<String> suggestions;
+    /** The first day of each suggestion's month, as a {@link HebrewDate}; ascending. */
+    private final int[] months;
+    private final SuggestionIndex index;
+
+    private MonthSuggestions(List<String> suggestions, int[] months) {
+        this.suggestions = Collections.unmodifiableList(suggestions);
+        this.months = months;
+        this.index = new SuggestionIndex(this.suggestions);
+    }
+
+    /** @return The shared suggestions, or {@code null} if they have not been built yet. */
+    static MonthSuggestions getShared() {
+        return sShared;
+    }
+
+    /**
+     * Starts building the shared suggestions on {@code executor}, unless they are already built
+     * or being built.
+     */
+    static void prewarm(Executor executor) {
+        synchronized (sLock) {
+            if (sShared != null || sBuilding) return;
+            sBuilding = true;
+        }
+        executor.execute(MonthSuggestions::buildShared);
+    }
+
+    /**
+     * Returns the shared suggestions, building them on the calling thread if nobody has started yet.
+     * @param onReady Run on the building thread once a build that is already in progress finishes.
+     * @return The shared suggestions, or {@code null} if another thread is still building them;
+     *         {@code onReady} is called later in that case only.
+     */
+    static MonthSuggestions getOrBuild(Runnable onReady) {
+        MonthSuggestions shared = sShared;
+        if (shared != null) return shared;
+        synchronized (sLock) {
+            if (sShared != null) return sShared;
+            if (sBuilding) {
+                sWaiting.add(onReady);
+                return null;
+            }
+            sBuilding = true;
+        }
+        return buildShared();
+    }
+
+    private static MonthSuggestions buildShared() {
+        MonthSuggestions built = null;
+        List<Runnable> waiting;
+        try {
+            int todayYear = HebrewCalendarMath.yearOfAbs(HebrewCalendarMath.todayAbs());
+            built = build(todayYear, YEARS_BEFORE, YEAR_COUNT);
+        } finally {
+            synchronized (sLock) {
+                sShared = built;
+                sBuilding = false;
+                waiting = new ArrayList<>(sWaiting);
+                sWaiting.clear();
+            }
+            for (Runnable callback : waiting) {
+                callback.run();
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Builds the suggestions for every month from Tishrei {@code yearsBefore} years before
+     * {@code currentYear} through the following {@code yearCount} years, in calendar order.
+     */
+    static MonthSuggestions build(int currentYear, int yearsBefore, int yearCount) {
+        int firstYear = currentYear - yearsBefore;
+        int monthCount = 0;
+        for (int year = firstYear; year < firstYear + yearCount; year++) {
+            monthCount += HebrewCalendarMath.monthCount(year);
+        }
+        ArrayList<String> suggestions = new ArrayList<>(monthCount);
+        int[] months = new int[monthCount];
+        StringBuilder sb = new StringBuilder(16);
+        int n = 0;
+        for (int year = firstYear; year < firstYear + yearCount; year++) {
+            boolean leap = HebrewCalendarMath.isLeapYear(year);
+            for (int i = 0, count = HebrewCalendarMath.monthCount(year); i < count; i++) {
+                int month = HebrewCalendarMath.monthAt(year, i);
+                sb.setLength(0);
+                HebrewDateFormatter.appendMonth(month, leap, sb).append(' ');
+                suggestions.add(HebrewDateFormatter.appendGematria(year % 1000, sb).toString());
+                months[n++] = HebrewDate.of(year, month, 1);
+            }
+        }
+        return new MonthSuggestions(suggestions, months);
+    }
+
+    /** @return All suggestions, in calendar order. */
+    List<String> getAll() {
+        return suggestions;
+    }
+
+    /** @return The first day of the suggestion's month at {@code index}, as a {@link HebrewDate}. */
+    int getMonth(int index) {
+        return months[index];
+    }
+
+    /**
+     * @param date A {@link HebrewDate}.
+     * @return The index of the first suggestion whose month is not before the month of {@code date};
+     *         the size of the list if there is none.
+     */
+    int indexOfMonth(int date) {
+        int lo = 0;
+        int hi = months.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (HebrewDate.compareMonths(months[mid], date) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the suggestions at or after {@code fromIndex} that contain the constraint once both
+     * are normalized, in calendar order. An empty constraint matches everything.
+     */
+    List<String> filter(CharSequence constraint, int fromIndex) {
+        return index.filter(constraint, fromIndex);
+    }
+
+    /** Like {@link #filter(CharSequence, int)}, leaving out the suggestions from {@code toIndex} on. */
+    List<String> filter(CharSequence constraint, int fromIndex, int toIndex) {
+        return index.filter(constraint, fromIndex, toIndex);
+    }
+
+    /**
+     * @return The first day of the month of the first suggestion, in calendar order, that contains
+     *         {@code input}, as a {@link HebrewDate}; or -1 if none does.
+     */
+    int firstMatch(CharSequence input) {
+        int i = index.firstMatch(input);
+        return i == -1 ? -1 : months[i];
+    }
+
+    /**
+     * פונקציה נפרדת לנרמול טקסט עברי להשוואה.
+     */
+    static String normalizeHebrew(CharSequence cs) {
+        if (cs == null) return "";
+        char[] out = new char[cs.length()];
+        return new String(out, 0, SuggestionIndex.normalize(cs, out, 0));
+    }
+}
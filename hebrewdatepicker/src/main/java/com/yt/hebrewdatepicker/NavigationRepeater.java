@@ -0,0 +1,148 @@
+package com.yt.hebrewdatepicker;
+
+import android.view.Choreographer;
+import android.view.View;
+
+/**
+ * Paces month navigation to the display's frames.
+ * <p>
+ * Every arrow tap, and every step of a held arrow, moves the target month at once, which only
+ * changes the header text; the grid of the latest target is then built from a
+ * {@link Choreographer} frame callback. However fast the input comes, that is at most one grid
+ * build per frame, and the months passed over between two frames are never built at all.
+ * <p>
+ * Holding an arrow repeats it, faster the longer it is held: the steps start a quarter of a
+ * second apart, speed up to one every frame, and then grow to several per frame, up to a year's
+ * worth of months. The repeat stops when the arrow is released or a step reaches a bound.
+ * Used on the main thread only.
+ */
+final class NavigationRepeater implements Choreographer.FrameCallback {
+
+    interface Step {
+        /**
+         * Moves the target by {@code count} steps, e.g. months or years, updating only cheap state
+         * such as the header.
+         * @return {@code false} if the target did not move because it is at a bound.
+         */
+        boolean move(int count);
+    }
+
+    private static final long INITIAL_INTERVAL_NANOS = 250_000_000L;
+    /** Below this the steps run every frame; about one frame at 60Hz. */
+    private static final long MIN_INTERVAL_NANOS = 16_000_000L;
+    /** Each step shortens the interval to this fraction of the previous one. */
+    private static final float ACCELERATION = 0.8f;
+    /** Frames between adding another step per frame, once the steps run every frame. */
+    private static final int FRAMES_PER_SPEEDUP = 8;
+    /** The most months one frame may advance, so the header stays readable. */
+    private static final int MAX_MONTHS_PER_FRAME = 12;
+
+    private final Runnable render;
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private boolean callbackPosted;
+    private boolean renderPending;
+
+    /** The held arrow and what it does, or null when nothing repeats. */
+    private View repeatingView;
+    private Step repeatingStep;
+    private int maxStepsPerFrame;
+    private long intervalNanos;
+    /** Frame time of the next step; 0 until the first frame of the repeat. */
+    private long nextStepNanos;
+    private int stepsPerFrame;
+    private int framesAtFullSpeed;
+
+    /** @param render Builds and shows the grid of the current target; called at most once per frame. */
+    NavigationRepeater(Runnable render) {
+        this.render = render;
+    }
+
+    /** Asks for the grid to be rebuilt on the next frame. Several requests before it are one build. */
+    void requestRender() {
+        renderPending = true;
+        postCallback();
+    }
+
+    /**
+     * Starts repeating {@code step} for as long as {@code view} stays pressed, typically from its
+     * long-click listener.
+     * @param monthsPerStep How many months one step moves, e.g. 1 for a month arrow and 12 for a
+     *                      year arrow; caps how many steps a frame may take.
+     */
+    void start(View view, Step step, int monthsPerStep) {
+        repeatingView = view;
+        repeatingStep = step;
+        maxStepsPerFrame = Math.max(1, MAX_MONTHS_PER_FRAME / monthsPerStep);
+        intervalNanos = INITIAL_INTERVAL_NANOS;
+        nextStepNanos = 0;
+        stepsPerFrame = 1;
+        framesAtFullSpeed = 0;
+        // The long press itself is the first step.
+        if (step.move(1)) {
+            requestRender();
+        } else {
+            stop();
+        }
+    }
+
+    /** Stops repeating. A pending render still runs, so the last target is shown. */
+    void stop() {
+        repeatingView = null;
+        repeatingStep = null;
+    }
+
+    /** Stops repeating and drops any pending render, e.g. when the dialog closes. */
+    void cancel() {
+        stop();
+        renderPending = false;
+        if (callbackPosted) {
+            choreographer.removeFrameCallback(this);
+            callbackPosted = false;
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        callbackPosted = false;
+        if (repeatingView != null && !repeatingView.isPressed()) {
+            // The arrow was released (or the touch cancelled) since the last frame.
+            stop();
+        }
+        if (repeatingStep != null) {
+            if (nextStepNanos == 0) {
+                nextStepNanos = frameTimeNanos + intervalNanos;
+            } else if (frameTimeNanos >= nextStepNanos) {
+                if (repeatingStep.move(stepsPerFrame)) {
+                    renderPending = true;
+                    accelerate();
+                    nextStepNanos = frameTimeNanos + intervalNanos;
+                } else {
+                    stop();
+                }
+            }
+        }
+        if (renderPending) {
+            renderPending = false;
+            render.run();
+        }
+        if (repeatingStep != null) {
+            postCallback();
+        }
+    }
+
+    private void accelerate() {
+        if (intervalNanos > MIN_INTERVAL_NANOS) {
+            intervalNanos = (long) (intervalNanos * ACCELERATION);
+            if (intervalNanos <= MIN_INTERVAL_NANOS) intervalNanos = 0;
+        } else if (stepsPerFrame < maxStepsPerFrame && ++framesAtFullSpeed % FRAMES_PER_SPEEDUP == 0) {
+            stepsPerFrame++;
+        }
+    }
+
+    private void postCallback() {
+        if (!callbackPosted) {
+            callbackPosted = true;
+            choreographer.postFrameCallback(this);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import java.util.Calendar;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A precomputed table of the weekly parsha, one small array per Hebrew year.
+ * <p>
+ * Each year is computed once by walking its Shabbatot, and stores the day of the first
+ * Shabbat plus one byte per Shabbat holding the {@link JewishCalendar.Parsha} ordinal
+ * ({@code 0}, {@link JewishCalendar.Parsha#NONE}, when a festival is read instead). Looking up
+ * a day, or every Shabbat in a range, is then an array walk with no {@link JewishCalendar}:
+ * <pre>{@code
+ * ParshaIndex index = ParshaIndex.getInstance(false);
+ * int count = index.getParshiyot(fromAbs, toAbs, shabbatAbs, parshiyot);
+ * String name = ParshaIndex.formatParsha(parshiyot[0]); // e.g. "בראשית"
+ * }</pre>
+ * Separate instances exist for Israel and the diaspora. Instances are thread-safe.
+ */
+public final class ParshaIndex {
+
+    private static final JewishCalendar.Parsha[] PARSHIYOT = JewishCalendar.Parsha.values();
+    /** Hebrew parsha names indexed by {@link JewishCalendar.Parsha} ordinal; "" for NONE. */
+    private static final String[] NAMES = new String[PARSHIYOT.length];
+
+    static {
+        com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter formatter =
+                new com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter();
+        formatter.setHebrewFormat(true);
+        // The library only formats the parsha of a calendar, so feed it each parsha in turn.
+        ParshaCalendar calendar = new ParshaCalendar();
+        for (JewishCalendar.Parsha parsha : PARSHIYOT) {
+            calendar.parsha = parsha;
+            String name = parsha == JewishCalendar.Parsha.NONE ? null : formatter.formatParsha(calendar);
+            NAMES[parsha.ordinal()] = name == null ? "" : name;
+        }
+    }
+
+    private static final ParshaIndex sIsrael = new ParshaIndex(true);
+    private static final ParshaIndex sDiaspora = new ParshaIndex(false);
+
+    private final boolean inIsrael;
+    private final ConcurrentHashMap<Integer, YearParshiyot> years = new ConcurrentHashMap<>();
+    // The year looked up last; consecutive lookups in the same year skip the map (and the boxing).
+    private volatile YearParshiyot lastYear;
+
+    private ParshaIndex(boolean inIsrael) {
+        this.inIsrael = inIsrael;
+    }
+
+    /**
+     * @param inIsrael {@code true} for the Israeli reading schedule, {@code false} for the diaspora.
+     * @return The shared index for that schedule.
+     */
+    public static ParshaIndex getInstance(boolean inIsrael) {
+        return inIsrael ? sIsrael : sDiaspora;
+    }
+
+    public boolean isInIsrael() {
+        return inIsrael;
+    }
+
+    /** @return The Hebrew name of a parsha ordinal, or "" for {@link JewishCalendar.Parsha#NONE}. */
+    public static String formatParsha(int parshaIndex) {
+        return NAMES[parshaIndex];
+    }
+
+    /**
+     * @param year The Hebrew year.
+     * @param dayOfYear The day of the year, 0 for 1 Tishrei.
+     * @return The parsha ordinal read on that day, or 0 ({@link JewishCalendar.Parsha#NONE}) if
+     *         the day is not Shabbat or no parsha is read.
+     */
+    public int getParshaIndex(int year, int dayOfYear) {
+        YearParshiyot table = getYear(year);
+        int sinceFirst = dayOfYear - table.firstShabbat;
+        if (sinceFirst < 0 || sinceFirst % 7 != 0 || sinceFirst / 7 >= table.parshiyot.length) {
+            return 0;
+        }
+        return table.parshiyot[sinceFirst / 7];
+    }
+
+    /** @return The parsha read on the date held by {@code date}, or NONE. */
+    public JewishCalendar.Parsha getParsha(JewishCalendar date) {
+        return PARSHIYOT[getParshaIndex(date.getJewishYear(), date.getDaysSinceStartOfJewishYear() - 1)];
+    }
+
+    /**
+     * Lists the Shabbatot between two absolute days (see {@link HebrewCalendarMath}) on which a
+     * parsha is read, in order, stopping when the output arrays are full.
+     * @param fromAbs The first absolute day, inclusive.
+     * @param toAbs The last absolute day, inclusive.
+     * @param shabbatAbs Receives the absolute day of each Shabbat.
+     * @param parshaIndices Receives the parsha ordinal of each Shabbat; at least as long as {@code shabbatAbs}.
+     * @return The number of Shabbatot written.
+     */
+    public int getParshiyot(int fromAbs, int toAbs, int[] shabbatAbs, int[] parshaIndices) {
+        int count = 0;
+        int year = HebrewCalendarMath.yearOfAbs(fromAbs);
+        int yearStart = HebrewCalendarMath.roshHashanaAbs(year);
+        while (yearStart <= toAbs && count < shabbatAbs.length) {
+            YearParshiyot table = getYear(year);
+            int firstAbs = yearStart + table.firstShabbat;
+            int i = fromAbs <= firstAbs ? 0 : (fromAbs - firstAbs + 6) / 7;
+            for (; i < table.parshiyot.length && count < shabbatAbs.length; i++) {
+                int abs = firstAbs + 7 * i;
+                if (abs > toAbs) break;
+                if (table.parshiyot[i] != 0) {
+                    shabbatAbs[count] = abs;
+                    parshaIndices[count] = table.parshiyot[i];
+                    count++;
+                }
+            }
+            year++;
+            yearStart = HebrewCalendarMath.roshHashanaAbs(year);
+        }
+        return count;
+    }
+
+    /**
+     * Computes the tables for a range of years ahead of time, e.g. on a background thread.
+     * @param fromYear The first Hebrew year, inclusive.
+     * @param toYear The last Hebrew year, inclusive.
+     */
+    public void preload(int fromYear, int toYear) {
+        for (int year = fromYear; year <= toYear; year++) {
+            getYear(year);
+        }
+    }
+
+    private YearParshiyot getYear(int year) {
+        YearParshiyot last = lastYear;
+        if (last != null && last.year == year) {
+            return last;
+        }
+        YearParshiyot table = years.get(year);
+        if (table == null) {
+            table = compute(year);
+            YearParshiyot raced = years.putIfAbsent(year, table);
+            if (raced != null) {
+                table = raced;
+            }
+        }
+        lastYear = table;
+        return table;
+    }
+
+    private YearParshiyot compute(int year) {
+        int roshHashana = HebrewCalendarMath.roshHashanaAbs(year);
+        // Shabbat is day 7 of the week; count the days from Rosh Hashana to the first one.
+        int firstShabbat = 7 - HebrewCalendarMath.dayOfWeek(roshHashana);
+        int shabbatot = (HebrewCalendarMath.daysInYear(year) - firstShabbat + 6) / 7;
+        byte[] parshiyot = new byte[shabbatot];
+        JewishCalendar cal = new JewishCalendar(year, JewishCalendar.TISHREI, 1 + firstShabbat);
+        cal.setInIsrael(inIsrael);
+        for (int i = 0; i < shabbatot; i++) {
+            if (i > 0) {
+                cal.forward(Calendar.DATE, 7);
+            }
+            parshiyot[i] = (byte) cal.getParshah().ordinal();
+        }
+        return new YearParshiyot(year, firstShabbat, parshiyot);
+    }
+
+    private static final class YearParshiyot {
+        final int year;
+        /** Day of the year (0 = 1 Tishrei) of the first Shabbat. */
+        final int firstShabbat;
+        /** The parsha ordinal of each Shabbat of the year, in order. */
+        final byte[] parshiyot;
+
+        YearParshiyot(int year, int firstShabbat, byte[] parshiyot) {
+            this.year = year;
+            this.firstShabbat = firstShabbat;
+            this.parshiyot = parshiyot;
+        }
+    }
+
+    /** A calendar that reports a chosen parsha, used to read the library's name table. */
+    private static final class ParshaCalendar extends JewishCalendar {
+        Parsha parsha = Parsha.NONE;
+
+        @Override
+        public Parsha getParshah() {
+            return parsha;
+        }
+    }
+}
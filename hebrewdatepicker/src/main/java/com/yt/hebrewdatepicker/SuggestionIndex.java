@@ -0,0 +1,224 @@
+package com.yt.hebrewdatepicker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A substring index over the normalized text of the jump-to-date suggestions.
+ * <p>
+ * The normalized items are joined into one char array and a suffix array is sorted over it once.
+ * A query is then two binary searches over the suffix array plus one step per match, so its cost
+ * depends on the number of matches rather than the number of suggestions. Results keep the
+ * order of the items they were built from.
+ */
+final class SuggestionIndex {
+
+    private static final char SEPARATOR = '\0';
+
+    private final List<String> items;
+    /** The normalized items, each followed by {@link #SEPARATOR}. */
+    private final char[] text;
+    /** The item each text position belongs to. */
+    private final int[] owner;
+    /** Every non-separator position of {@link #text}, sorted by the suffix that starts there. */
+    private final int[] suffixes;
+
+    // Scratch state for queries; guarded by this.
+    private final int[] marks;
+    private int generation;
+    private final int[] matches;
+    private char[] query = new char[32];
+
+    SuggestionIndex(List<String> items) {
+        this.items = items;
+        int capacity = 0;
+        for (String item : items) {
+            capacity += item.length() + 1;
+        }
+        char[] chars = new char[capacity];
+        int[] owners = new int[capacity];
+        int length = 0;
+        int positions = 0;
+        for (int i = 0; i < items.size(); i++) {
+            int start = length;
+            length += normalize(items.get(i), chars, length);
+            positions += length - start;
+            Arrays.fill(owners, start, length + 1, i);
+            chars[length++] = SEPARATOR;
+        }
+        text = Arrays.copyOf(chars, length);
+        owner = Arrays.copyOf(owners, length);
+
+        suffixes = new int[positions];
+        int n = 0;
+        for (int p = 0; p < length; p++) {
+            if (text[p] != SEPARATOR) suffixes[n++] = p;
+        }
+        sortSuffixes(0, positions - 1);
+        marks = new int[items.size()];
+        matches = new int[items.size()];
+    }
+
+    /**
+     * Normalizes text for matching in a single pass: drops geresh, gershayim, quotes and
+     * whitespace, and lower-cases the rest.
+     * @param cs The text to normalize.
+     * @param out Receives the normalized chars; needs room for {@code cs.length()} chars from {@code offset}.
+     * @param offset Where to start writing in {@code out}.
+     * @return The number of chars written.
+     */
+    static int normalize(CharSequence cs, char[] out, int offset) {
+        int n = offset;
+        for (int i = 0, len = cs.length(); i < len; i++) {
+            char c = cs.charAt(i);
+            switch (c) {
+                case '״': case '׳': case '"': case '\'': case '’': case '`':
+                case ' ': case '\t': case '\n': case '\u000B': case '\f': case '\r':
+                    break;
+                default:
+                    out[n++] = Character.toLowerCase(c);
+            }
+        }
+        return n - offset;
+    }
+
+    /**
+     * Returns the items at or after {@code fromIndex} whose normalized text contains the
+     * normalized constraint, in their original order. An empty constraint matches everything.
+     */
+    List<String> filter(CharSequence constraint, int fromIndex) {
+        return filter(constraint, fromIndex, items.size());
+    }
+
+    /** Like {@link #filter(CharSequence, int)}, skipping the items from {@code toIndex} on as well. */
+    List<String> filter(CharSequence constraint, int fromIndex, int toIndex) {
+        toIndex = Math.min(toIndex, items.size());
+        if (constraint == null || constraint.length() == 0) {
+            return new ArrayList<>(items.subList(Math.min(fromIndex, toIndex), toIndex));
+        }
+        synchronized (this) {
+            int count = search(constraint, fromIndex, toIndex);
+            List<String> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(items.get(matches[i]));
+            }
+            return result;
+        }
+    }
+
+    /** @return The index of the first item containing {@code constraint}, or -1 if there is none. */
+    synchronized int firstMatch(CharSequence constraint) {
+        int count = search(constraint, 0, items.size());
+        return count == 0 ? -1 : matches[0];
+    }
+
+    /** Fills {@link #matches} with the sorted indexes of the matching items and returns how many there are. */
+    private int search(CharSequence constraint, int fromIndex, int toIndex) {
+        if (query.length < constraint.length()) {
+            query = new char[constraint.length()];
+        }
+        int m = normalize(constraint, query, 0);
+        if (m == 0) {
+            return 0;
+        }
+        int lo = bound(m, false);
+        int hi = bound(m, true);
+        if (++generation == 0) {
+            Arrays.fill(marks, 0);
+            generation = 1;
+        }
+        int count = 0;
+        for (int i = lo; i < hi; i++) {
+            int item = owner[suffixes[i]];
+            if (item >= fromIndex && item < toIndex && marks[item] != generation) {
+                marks[item] = generation;
+                matches[count++] = item;
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        return count;
+    }
+
+    /**
+     * Binary search over the suffix array for the query in {@link #query}.
+     * @param upper {@code false} for the first suffix starting with the query, {@code true} for the first one after them.
+     */
+    private int bound(int m, boolean upper) {
+        int lo = 0;
+        int hi = suffixes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = comparePrefix(suffixes[mid], m);
+            if (cmp < 0 || (upper && cmp == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Compares the first {@code m} chars of the suffix at {@code pos} with the query. */
+    private int comparePrefix(int pos, int m) {
+        for (int i = 0; i < m; i++) {
+            int p = pos + i;
+            char c = p < text.length ? text[p] : SEPARATOR;
+            if (c != query[i]) {
+                return c < query[i] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    /** Sorts {@code suffixes[from..to]} (inclusive) with a quicksort on primitive ints, avoiding boxing. */
+    private void sortSuffixes(int from, int to) {
+        while (to - from > 16) {
+            int pivot = suffixes[(from + to) >>> 1];
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (compareSuffixes(suffixes[i], pivot) < 0) i++;
+                while (compareSuffixes(suffixes[j], pivot) > 0) j--;
+                if (i <= j) {
+                    int t = suffixes[i];
+                    suffixes[i++] = suffixes[j];
+                    suffixes[j--] = t;
+                }
+            }
+            // Recurse into the smaller half to bound the stack depth.
+            if (j - from < to - i) {
+                sortSuffixes(from, j);
+                from = i;
+            } else {
+                sortSuffixes(i, to);
+                to = j;
+            }
+        }
+        for (int i = from + 1; i <= to; i++) {
+            int v = suffixes[i];
+            int j = i - 1;
+            while (j >= from && compareSuffixes(suffixes[j], v) > 0) {
+                suffixes[j + 1] = suffixes[j];
+                j--;
+            }
+            suffixes[j + 1] = v;
+        }
+    }
+
+    /** Orders two suffixes; comparison stops at the end of the item, so it is bounded by the item length. */
+    private int compareSuffixes(int a, int b) {
+        while (true) {
+            char ca = text[a];
+            char cb = text[b];
+            if (ca != cb) {
+                return ca < cb ? -1 : 1;
+            }
+            if (ca == SEPARATOR) {
+                return Integer.compare(a, b);
+            }
+            a++;
+            b++;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 5783, 5785 and 5788 are complete years, 5784 and 5790 deficient leap years, 5786 and 5789
+ * regular years and 5787 a complete leap year; {@link #yearsAreAsAssumed()} checks this.
+ */
+public class AnniversaryIndexTest {
+
+    private static int daysIn(int year, int month) {
+        return new JewishCalendar(year, month, 1).getDaysInJewishMonth();
+    }
+
+    private static boolean isLeap(int year) {
+        return new JewishCalendar(year, JewishCalendar.TISHREI, 1).isJewishLeapYear();
+    }
+
+    @Test
+    public void yearsAreAsAssumed() {
+        int[][] shapes = {
+                // year, leap, days in Cheshvan, days in Kislev
+                {5783, 0, 30, 30}, {5784, 1, 29, 29}, {5785, 0, 30, 30}, {5786, 0, 29, 30},
+                {5787, 1, 30, 30}, {5788, 0, 30, 30}, {5789, 0, 29, 30}, {5790, 1, 29, 29},
+        };
+        for (int[] shape : shapes) {
+            assertEquals(shape[1] == 1, isLeap(shape[0]));
+            assertEquals(shape[2], daysIn(shape[0], JewishCalendar.CHESHVAN));
+            assertEquals(shape[3], daysIn(shape[0], JewishCalendar.KISLEV));
+        }
+    }
+
+    private static int occurrence(int date, int kind, int year) {
+        return new AnniversaryIndex(new int[]{date}, kind).getOccurrence(0, year);
+    }
+
+    private static void assertBoth(int expected, int date, int year) {
+        assertEquals(expected, occurrence(date, AnniversaryIndex.KIND_ANNIVERSARY, year));
+        assertEquals(expected, occurrence(date, AnniversaryIndex.KIND_YAHRZEIT, year));
+    }
+
+    @Test
+    public void cheshvan30() {
+        int date = HebrewDate.of(5785, JewishCalendar.CHESHVAN, 30);
+        assertEquals(HebrewDate.of(5786, JewishCalendar.KISLEV, 1), occurrence(date, AnniversaryIndex.KIND_ANNIVERSARY, 5786));
+        assertEquals(date, occurrence(date, AnniversaryIndex.KIND_ANNIVERSARY, 5785));
+        // The first anniversary year, 5786, has no 30 Cheshvan, so the yahrzeit stays on the last day.
+        assertEquals(HebrewDate.of(5786, JewishCalendar.CHESHVAN, 29), occurrence(date, AnniversaryIndex.KIND_YAHRZEIT, 5786));
+        assertEquals(HebrewDate.of(5787, JewishCalendar.CHESHVAN, 30), occurrence(date, AnniversaryIndex.KIND_YAHRZEIT, 5787));
+        assertEquals(HebrewDate.of(5789, JewishCalendar.CHESHVAN, 29), occurrence(date, AnniversaryIndex.KIND_YAHRZEIT, 5789));
+        assertBoth(HebrewDate.of(5787, JewishCalendar.CHESHVAN, 30), date, 5787);
+    }
+
+    @Test
+    public void kislev30() {
+        int date = HebrewDate.of(5787, JewishCalendar.KISLEV, 30);
+        // The first anniversary year, 5788, has a 30 Kislev, so the yahrzeit moves like the anniversary.
+        assertBoth(HebrewDate.of(5788, JewishCalendar.KISLEV, 30), date, 5788);
+        assertBoth(HebrewDate.of(5789, JewishCalendar.KISLEV, 30), date, 5789);
+        assertBoth(HebrewDate.of(5790, JewishCalendar.TEVES, 1), date, 5790);
+
+        int followedByDeficient = HebrewDate.of(5789, JewishCalendar.KISLEV, 30);
+        assertEquals(HebrewDate.of(5790, JewishCalendar.TEVES, 1),
+                occurrence(followedByDeficient, AnniversaryIndex.KIND_ANNIVERSARY, 5790));
+        assertEquals(HebrewDate.of(5790, JewishCalendar.KISLEV, 29),
+                occurrence(followedByDeficient, AnniversaryIndex.KIND_YAHRZEIT, 5790));
+    }
+
+    @Test
+    public void adarOfARegularYear() {
+        int date = HebrewDate.of(5783, JewishCalendar.ADAR, 14);
+        // Adar II for an anniversary, Adar I for a yahrzeit.
+        assertEquals(HebrewDate.of(5784, JewishCalendar.ADAR_II, 14), occurrence(date, AnniversaryIndex.KIND_ANNIVERSARY, 5784));
+        assertEquals(HebrewDate.of(5784, JewishCalendar.ADAR, 14), occurrence(date, AnniversaryIndex.KIND_YAHRZEIT, 5784));
+        assertBoth(HebrewDate.of(5785, JewishCalendar.ADAR, 14), date, 5785);
+    }
+
+    @Test
+    public void adarIAndAdarII() {
+        int adarI = HebrewDate.of(5784, JewishCalendar.ADAR, 14);
+        int adarII = HebrewDate.of(5784, JewishCalendar.ADAR_II, 14);
+        assertBoth(HebrewDate.of(5785, JewishCalendar.ADAR, 14), adarI, 5785);
+        assertBoth(HebrewDate.of(5785, JewishCalendar.ADAR, 14), adarII, 5785);
+        assertBoth(HebrewDate.of(5787, JewishCalendar.ADAR, 14), adarI, 5787);
+        assertBoth(HebrewDate.of(5787, JewishCalendar.ADAR_II, 14), adarII, 5787);
+    }
+
+    @Test
+    public void adarI30() {
+        int date = HebrewDate.of(5784, JewishCalendar.ADAR, 30);
+        assertEquals(HebrewDate.of(5785, JewishCalendar.NISSAN, 1), occurrence(date, AnniversaryIndex.KIND_ANNIVERSARY, 5785));
+        assertEquals(HebrewDate.of(5785, JewishCalendar.SHEVAT, 30), occurrence(date, AnniversaryIndex.KIND_YAHRZEIT, 5785));
+        assertBoth(HebrewDate.of(5787, JewishCalendar.ADAR, 30), date, 5787);
+    }
+
+    @Test
+    public void noOccurrenceBeforeTheFirstYear() {
+        int date = HebrewDate.of(5784, JewishCalendar.TISHREI, 1);
+        assertEquals(0, occurrence(date, AnniversaryIndex.KIND_ANNIVERSARY, 5783));
+        assertEquals(date, occurrence(date, AnniversaryIndex.KIND_ANNIVERSARY, 5784));
+        // There is no yahrzeit in the year of death.
+        assertEquals(0, occurrence(date, AnniversaryIndex.KIND_YAHRZEIT, 5784));
+        assertEquals(HebrewDate.of(5785, JewishCalendar.TISHREI, 1), occurrence(date, AnniversaryIndex.KIND_YAHRZEIT, 5785));
+    }
+
+    @Test
+    public void occurrencesAreSortedAndKeepRecordOrderOnTheSameDay() {
+        int[] dates = {
+                HebrewDate.of(5780, JewishCalendar.ELUL, 1),
+                HebrewDate.of(5780, JewishCalendar.TISHREI, 10),
+                HebrewDate.of(5770, JewishCalendar.TISHREI, 10),
+                HebrewDate.of(5785, JewishCalendar.CHESHVAN, 30),
+                HebrewDate.of(5785, JewishCalendar.NISSAN, 1),
+        };
+        int[] kinds = {
+                AnniversaryIndex.KIND_ANNIVERSARY, AnniversaryIndex.KIND_YAHRZEIT, AnniversaryIndex.KIND_ANNIVERSARY,
+                AnniversaryIndex.KIND_ANNIVERSARY, AnniversaryIndex.KIND_YAHRZEIT,
+        };
+        AnniversaryIndex index = new AnniversaryIndex(dates, kinds);
+        assertEquals(5, index.size());
+        // From mid-Tishrei 5785, so the first 10 Tishrei is left out, to 10 Tishrei 5786 inclusive.
+        AnniversaryIndex.Occurrences occurrences = index.getOccurrences(
+                HebrewDate.of(5785, JewishCalendar.TISHREI, 11), HebrewDate.of(5786, JewishCalendar.TISHREI, 10));
+        int[] expectedDates = {
+                HebrewDate.of(5785, JewishCalendar.CHESHVAN, 30),
+                HebrewDate.of(5785, JewishCalendar.ELUL, 1),
+                HebrewDate.of(5786, JewishCalendar.TISHREI, 10),
+                HebrewDate.of(5786, JewishCalendar.TISHREI, 10),
+        };
+        // The Nissan yahrzeit is in its year of death, and the first one comes after the range.
+        assertArrayEquals(expectedDates, occurrences.getDates());
+        assertArrayEquals(new int[]{3, 0, 1, 2}, occurrences.getRecords());
+        assertEquals(4, occurrences.size());
+        assertEquals(expectedDates[2], occurrences.getDate(2));
+        assertEquals(1, occurrences.getRecord(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTooFewKinds() {
+        new AnniversaryIndex(new int[]{HebrewDate.of(5785, JewishCalendar.TISHREI, 1), HebrewDate.of(5785, JewishCalendar.AV, 9)},
+                new int[]{AnniversaryIndex.KIND_YAHRZEIT});
+    }
+}
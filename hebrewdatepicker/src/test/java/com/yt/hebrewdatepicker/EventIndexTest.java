@@ -0,0 +1,137 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class EventIndexTest {
+
+    private static final int KISLEV_25 = HebrewDate.of(5786, JewishCalendar.KISLEV, 25);
+
+    @Test
+    public void emptyIndexCountsNothing() {
+        EventIndex index = new EventIndex();
+        int[] counts = new int[30];
+        Arrays.fill(counts, 9);
+        assertEquals(0, index.size());
+        assertEquals(0, index.getCount(KISLEV_25));
+        assertEquals(0, index.getMonthCounts(5786, JewishCalendar.KISLEV, counts));
+        assertArrayEquals(new int[30], counts);
+        assertFalse(index.remove(KISLEV_25));
+    }
+
+    @Test
+    public void countsEventsOnTheSameDayAndInRanges() {
+        int[] dates = {
+                KISLEV_25, HebrewDate.of(5786, JewishCalendar.TEVES, 2), KISLEV_25,
+                HebrewDate.of(5786, JewishCalendar.KISLEV, 1), KISLEV_25,
+        };
+        EventIndex index = new EventIndex(dates);
+        assertEquals(3, index.getCount(KISLEV_25));
+        assertEquals(0, index.getCount(HebrewDate.plusDays(KISLEV_25, 1)));
+        assertEquals(5, index.getCount(HebrewDate.of(5786, JewishCalendar.KISLEV, 1), HebrewDate.of(5786, JewishCalendar.TEVES, 2)));
+        assertEquals(3, index.getCount(KISLEV_25, KISLEV_25));
+        // An empty range, from after to.
+        assertEquals(0, index.getCount(HebrewDate.of(5786, JewishCalendar.TEVES, 2), KISLEV_25));
+        // The constructor copies its array.
+        dates[1] = KISLEV_25;
+        assertEquals(3, index.getCount(KISLEV_25));
+    }
+
+    @Test
+    public void monthCountsOverwriteTheWholeArray() {
+        EventIndex index = new EventIndex(new int[]{KISLEV_25, KISLEV_25, HebrewDate.of(5786, JewishCalendar.KISLEV, 30)});
+        int[] counts = new int[30];
+        Arrays.fill(counts, 9);
+        assertEquals(3, index.getMonthCounts(5786, JewishCalendar.KISLEV, counts));
+        int[] expected = new int[30];
+        expected[24] = 2;
+        expected[29] = 1;
+        assertArrayEquals(expected, counts);
+        // Reused for a month without events.
+        assertEquals(0, index.getMonthCounts(5786, JewishCalendar.CHESHVAN, counts));
+        assertArrayEquals(new int[30], counts);
+    }
+
+    @Test
+    public void adarIAndAdarIIAreSeparateMonths() {
+        int adarI = HebrewDate.of(5784, JewishCalendar.ADAR, 30);
+        int adarII = HebrewDate.of(5784, JewishCalendar.ADAR_II, 1);
+        EventIndex index = new EventIndex(new int[]{adarII, adarI, adarI});
+        int[] counts = new int[30];
+        assertEquals(2, index.getMonthCounts(5784, JewishCalendar.ADAR, counts));
+        assertEquals(2, counts[29]);
+        assertEquals(1, index.getMonthCounts(5784, JewishCalendar.ADAR_II, counts));
+        assertEquals(1, counts[0]);
+        assertEquals(0, index.getMonthCounts(5784, JewishCalendar.NISSAN, counts));
+        assertEquals(3, index.getCount(adarI, adarII));
+    }
+
+    @Test
+    public void denseMonthsCountLikeSparseOnes() {
+        // 200 events in Nissan, more than are counted one by one, and a few around it.
+        int[] dates = new int[206];
+        for (int i = 0; i < 200; i++) {
+            dates[i] = HebrewDate.of(5785, JewishCalendar.NISSAN, 1 + (i * 7) % 30);
+        }
+        dates[200] = HebrewDate.of(5785, JewishCalendar.ADAR, 29);
+        dates[201] = HebrewDate.of(5785, JewishCalendar.IYAR, 1);
+        dates[202] = HebrewDate.of(5785, JewishCalendar.NISSAN, 15);
+        dates[203] = HebrewDate.of(5785, JewishCalendar.NISSAN, 15);
+        dates[204] = HebrewDate.of(5784, JewishCalendar.NISSAN, 15);
+        dates[205] = HebrewDate.of(5786, JewishCalendar.NISSAN, 15);
+        EventIndex index = new EventIndex(dates);
+        int[] counts = new int[30];
+        assertEquals(202, index.getMonthCounts(5785, JewishCalendar.NISSAN, counts));
+        for (int day = 1; day <= 30; day++) {
+            int expected = 0;
+            for (int i = 0; i < 204; i++) {
+                if (dates[i] == HebrewDate.of(5785, JewishCalendar.NISSAN, day)) expected++;
+            }
+            assertEquals("day " + day, expected, counts[day - 1]);
+            assertEquals(expected, index.getCount(HebrewDate.of(5785, JewishCalendar.NISSAN, day)));
+        }
+    }
+
+    @Test
+    public void addAddAllAndRemoveKeepTheDatesSorted() {
+        EventIndex index = new EventIndex();
+        // More than the initial capacity, in descending order.
+        for (int day = 29; day >= 1; day--) {
+            index.add(HebrewDate.of(5786, JewishCalendar.TEVES, day));
+        }
+        index.addAll(new int[]{KISLEV_25, HebrewDate.of(5786, JewishCalendar.SHEVAT, 1), HebrewDate.of(5786, JewishCalendar.TEVES, 10)});
+        assertEquals(32, index.size());
+        int[] counts = new int[30];
+        assertEquals(30, index.getMonthCounts(5786, JewishCalendar.TEVES, counts));
+        assertEquals(2, counts[9]);
+        assertEquals(1, index.getCount(KISLEV_25));
+
+        assertTrue(index.remove(HebrewDate.of(5786, JewishCalendar.TEVES, 10)));
+        assertEquals(1, index.getCount(HebrewDate.of(5786, JewishCalendar.TEVES, 10)));
+        assertTrue(index.remove(KISLEV_25));
+        assertFalse(index.remove(KISLEV_25));
+        assertEquals(30, index.size());
+        assertEquals(30, index.getCount(HebrewDate.of(5786, JewishCalendar.KISLEV, 1), HebrewDate.of(5786, JewishCalendar.SHEVAT, 1)));
+
+        index.addAll(new int[0]);
+        assertEquals(30, index.size());
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(0, index.getMonthCounts(5786, JewishCalendar.TEVES, counts));
+    }
+
+    @Test
+    public void formatCountCapsAt99() {
+        assertNull(EventIndex.formatCount(0));
+        assertNull(EventIndex.formatCount(-1));
+        assertEquals("1", EventIndex.formatCount(1));
+        assertEquals("99", EventIndex.formatCount(99));
+        assertEquals("99+", EventIndex.formatCount(100));
+        assertEquals("99+", EventIndex.formatCount(5000));
+    }
+}
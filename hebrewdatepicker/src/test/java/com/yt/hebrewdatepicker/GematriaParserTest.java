@@ -0,0 +1,118 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter;
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GematriaParserTest {
+
+    private static void assertParses(String input, int month, int year) {
+        int parsed = GematriaParser.parse(input);
+        assertNotEquals(input, GematriaParser.INVALID, parsed);
+        assertEquals(input, month, GematriaParser.monthOf(parsed));
+        assertEquals(input, year, GematriaParser.yearOf(parsed));
+    }
+
+    @Test
+    public void thousandsAreOptionalAndDefaultToTheSixthMillennium() {
+        assertParses("תשפ״ה", 0, 5785);
+        assertParses("ה׳תשפ״ה", 0, 5785);
+        assertParses("ה'תשפה", 0, 5785);
+        assertParses("ה׳ תשפ״ה", 0, 5785);
+        // Without a geresh, a first letter smaller than the next one is the thousands.
+        assertParses("התשפה", 0, 5785);
+        assertParses("דתשפה", 0, 4785);
+        assertParses("ד׳ תשפ״ה", 0, 4785);
+        assertParses("ט׳תתקצ״ט", 0, 9999);
+        assertParses("ג׳תשס״א", 0, GematriaParser.MIN_YEAR);
+    }
+
+    @Test
+    public void acceptsEveryKindOfGershayim() {
+        for (String year : new String[]{"תשפ״ה", "תשפ\"ה", "תשפ'ה", "תשפ׳ה", "תשפ’ה", "תשפ`ה", "תשפה"}) {
+            assertParses(year, 0, 5785);
+        }
+        // Final letters count like their regular forms.
+        assertParses("תש״ן", 0, 5750);
+        assertParses("תת״ק", 0, 5900);
+    }
+
+    @Test
+    public void readsMonthSpellingsWithAndWithoutAYear() {
+        assertParses("חשון", JewishCalendar.CHESHVAN, 0);
+        assertParses("מרחשוון תשפ״ה", JewishCalendar.CHESHVAN, 5785);
+        assertParses("כסליו", JewishCalendar.KISLEV, 0);
+        assertParses("מנחם אב", JewishCalendar.AV, 0);
+        assertParses("מנחם אב ה׳ תשפ״ה", JewishCalendar.AV, 5785);
+        assertParses("איר תשפ״ה", JewishCalendar.IYAR, 5785);
+        assertParses("  אלול  ", JewishCalendar.ELUL, 0);
+        assertParses("\tאלול  תשפ״ה ", JewishCalendar.ELUL, 5785);
+    }
+
+    @Test
+    public void adarLetterIsPartOfTheMonthName() {
+        // "אדר ב" must not read as Adar of the year 2, nor "אדר א" as the year 1.
+        assertParses("אדר ב", JewishCalendar.ADAR_II, 0);
+        assertParses("אדר ב׳", JewishCalendar.ADAR_II, 0);
+        assertParses("אדר שני", JewishCalendar.ADAR_II, 0);
+        assertParses("אדר א׳", JewishCalendar.ADAR, 0);
+        assertParses("אדר ראשון", JewishCalendar.ADAR, 0);
+        assertParses("אדר", JewishCalendar.ADAR, 0);
+        assertParses("אדר ב׳ תשפ״ד", JewishCalendar.ADAR_II, 5784);
+        assertParses("אדר א תשפד", JewishCalendar.ADAR, 5784);
+    }
+
+    @Test
+    public void rejectsInvalidInput() {
+        String[] inputs = {
+                "", "   ", "hello", "5785", "אלול 5785",
+                // Letters out of descending order.
+                "הפשת", "תשפהק",
+                // Before the first year JewishCalendar supports.
+                "ג׳ תשנ״ט", "גתשס",
+                // Not a month.
+                "פורים תשפ״ה", "שבט א אב",
+                // Three digits of thousands do not fit in a year.
+                "תתתתק",
+        };
+        for (String input : inputs) {
+            assertEquals(input, GematriaParser.INVALID, GematriaParser.parse(input));
+        }
+    }
+
+    @Test
+    public void partialYearsAreNotReadAsYears() {
+        String[] inputs = {"ה", "ה׳", "ה׳ ת", "תש", "ה׳תש", "אלול תש", "אלול ה", "ניסן ה׳ תש"};
+        for (String input : inputs) {
+            assertEquals(input, GematriaParser.INVALID, GematriaParser.parse(input));
+        }
+        // A tens letter, a third letter or gershayim complete the year.
+        assertParses("אלול תשפ", JewishCalendar.ELUL, 5780);
+        assertParses("תשס", 0, 5760);
+        assertParses("תתק", 0, 5900);
+        assertParses("אלול ת״ש", JewishCalendar.ELUL, 5700);
+        assertParses("ק׳", 0, 5100);
+        assertParses("ה׳ ה׳", 0, 5005);
+        assertParses("ה׳ ט״ו", 0, 5015);
+    }
+
+    @Test
+    public void readsYearsAsKosherJavaWritesThem() {
+        HebrewDateFormatter formatter = new HebrewDateFormatter();
+        formatter.setHebrewFormat(true);
+        for (int year = 5001; year <= 5999; year++) {
+            formatter.setUseLongHebrewYears(false);
+            // Without the thousands, "ה׳" alone is the start of a year rather than 5005.
+            if (year >= 5010) {
+                assertParses(formatter.formatHebrewNumber(year), 0, year);
+            } else {
+                assertEquals(GematriaParser.INVALID, GematriaParser.parse(formatter.formatHebrewNumber(year)));
+            }
+            formatter.setUseLongHebrewYears(true);
+            assertParses(formatter.formatHebrewNumber(year), 0, year);
+        }
+    }
+}
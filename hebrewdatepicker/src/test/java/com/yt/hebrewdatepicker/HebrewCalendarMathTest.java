@@ -0,0 +1,133 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+import com.kosherjava.zmanim.hebrewcalendar.JewishDate;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks {@link HebrewCalendarMath} against {@link JewishCalendar}, which it must agree with.
+ */
+public class HebrewCalendarMathTest {
+
+    /** The first and last year of each checked span: both edges of the supported range and the present. */
+    static final int[][] YEAR_SPANS = {{3761, 3800}, {5600, 5900}, {9960, 9999}};
+
+    @Test
+    public void yearLengthsMatchKosherJava() {
+        for (int[] span : YEAR_SPANS) {
+            for (int year = span[0]; year <= span[1]; year++) {
+                assertEquals("elapsed days " + year, JewishDate.getJewishCalendarElapsedDays(year),
+                        HebrewCalendarMath.elapsedDays(year));
+                assertEquals("days in " + year, JewishDate.getDaysInJewishYear(year), HebrewCalendarMath.daysInYear(year));
+                assertEquals("leap " + year, (7 * year + 1) % 19 < 7, HebrewCalendarMath.isLeapYear(year));
+                assertEquals(HebrewCalendarMath.isLeapYear(year) ? 13 : 12, HebrewCalendarMath.monthCount(year));
+            }
+        }
+    }
+
+    @Test
+    public void monthLengthsAndYearTypesMatchKosherJava() {
+        for (int[] span : YEAR_SPANS) {
+            // The first months of 3761 are before the first day JewishCalendar accepts.
+            for (int year = Math.max(span[0], 3762); year <= span[1]; year++) {
+                JewishCalendar tishrei = new JewishCalendar(year, JewishCalendar.TISHREI, 1);
+                assertEquals("leap " + year, tishrei.isJewishLeapYear(), HebrewCalendarMath.isLeapYear(year));
+                assertEquals("type " + year, tishrei.getCheshvanKislevKviah(), HebrewCalendarMath.yearType(year));
+                assertEquals("Rosh Hashana " + year, tishrei.getAbsDate(), HebrewCalendarMath.roshHashanaAbs(year));
+                assertEquals(tishrei.getDayOfWeek(), HebrewCalendarMath.roshHashanaDayOfWeek(year));
+                for (int i = 0; i < HebrewCalendarMath.monthCount(year); i++) {
+                    int month = HebrewCalendarMath.monthAt(year, i);
+                    assertEquals(i, HebrewCalendarMath.indexOfMonth(year, month));
+                    JewishCalendar first = new JewishCalendar(year, month, 1);
+                    assertEquals(year + "/" + month, first.getDaysInJewishMonth(), HebrewCalendarMath.daysInMonth(year, month));
+                    assertEquals(first.getDaysSinceStartOfJewishYear() - 1, HebrewCalendarMath.dayOfYear(year, month, 1));
+                }
+                if (!tishrei.isJewishLeapYear()) {
+                    assertEquals(-1, HebrewCalendarMath.indexOfMonth(year, JewishCalendar.ADAR_II));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void checkedYearsCoverEveryKindOfYear() {
+        // Deficient, regular and complete, each in a regular and a leap year.
+        boolean[][] seen = new boolean[2][3];
+        for (int year = YEAR_SPANS[1][0]; year <= YEAR_SPANS[1][1]; year++) {
+            seen[HebrewCalendarMath.isLeapYear(year) ? 1 : 0][HebrewCalendarMath.yearType(year)] = true;
+            int days = HebrewCalendarMath.daysInYear(year);
+            assertEquals(HebrewCalendarMath.isLeapYear(year) ? 383 : 353, days - HebrewCalendarMath.yearType(year));
+        }
+        for (boolean[] leap : seen) {
+            for (boolean type : leap) {
+                assertTrue(type);
+            }
+        }
+        assertEquals(HebrewCalendarMath.DEFICIENT, HebrewCalendarMath.yearType(5784));
+        assertEquals(HebrewCalendarMath.REGULAR, HebrewCalendarMath.yearType(5786));
+        assertEquals(HebrewCalendarMath.COMPLETE, HebrewCalendarMath.yearType(5785));
+        assertEquals(30, HebrewCalendarMath.daysInMonth(5785, JewishCalendar.CHESHVAN));
+        assertEquals(29, HebrewCalendarMath.daysInMonth(5784, JewishCalendar.KISLEV));
+        assertEquals(30, HebrewCalendarMath.daysInMonth(5784, JewishCalendar.ADAR));
+        assertEquals(29, HebrewCalendarMath.daysInMonth(5785, JewishCalendar.ADAR));
+    }
+
+    @Test
+    public void absoluteDaysMatchKosherJavaEveryDay() {
+        // From the first day JewishCalendar accepts, and across the other spans' year boundaries.
+        assertDaysMatch(new JewishCalendar(3761, JewishCalendar.TEVES, 18), 800);
+        assertDaysMatch(new JewishCalendar(5782, JewishCalendar.ELUL, 1), 4 * 385);
+        assertDaysMatch(new JewishCalendar(9998, JewishCalendar.TISHREI, 1), 2 * 385 - 50);
+        assertEquals(1, HebrewCalendarMath.toAbs(3761, JewishCalendar.TEVES, 18));
+    }
+
+    private static void assertDaysMatch(JewishCalendar jc, int days) {
+        for (int i = 0; i < days; i++) {
+            int year = jc.getJewishYear();
+            int month = jc.getJewishMonth();
+            int day = jc.getJewishDayOfMonth();
+            int abs = jc.getAbsDate();
+            String date = year + "/" + month + "/" + day;
+            assertEquals(date, abs, HebrewCalendarMath.toAbs(year, month, day));
+            assertEquals(date, jc.getDayOfWeek(), HebrewCalendarMath.dayOfWeek(abs));
+            assertEquals(date, year, HebrewCalendarMath.yearOfAbs(abs));
+            assertEquals(date, month, HebrewCalendarMath.monthOfDayOfYear(year, HebrewCalendarMath.dayOfYear(year, month, day)));
+            jc.forward(Calendar.DATE, 1);
+        }
+    }
+
+    @Test
+    public void addMonthsFollowsKosherJavaMonthOrder() {
+        JewishCalendar jc = new JewishCalendar(5780, JewishCalendar.TISHREI, 1);
+        int start = HebrewCalendarMath.packMonth(5780, JewishCalendar.TISHREI);
+        for (int delta = 0; delta < 12 * 19; delta++) {
+            int packed = HebrewCalendarMath.addMonths(5780, JewishCalendar.TISHREI, delta);
+            assertEquals(jc.getJewishYear(), HebrewCalendarMath.yearOf(packed));
+            assertEquals(jc.getJewishMonth(), HebrewCalendarMath.monthOf(packed));
+            assertEquals(delta, HebrewCalendarMath.monthsBetween(5780, JewishCalendar.TISHREI,
+                    HebrewCalendarMath.yearOf(packed), HebrewCalendarMath.monthOf(packed)));
+            int back = HebrewCalendarMath.addMonths(HebrewCalendarMath.yearOf(packed), HebrewCalendarMath.monthOf(packed), -delta);
+            assertEquals(start, back);
+            jc.forward(Calendar.DATE, jc.getDaysInJewishMonth());
+        }
+    }
+
+    @Test
+    public void addYearsKeepsTheMonthExceptAdarII() {
+        // 5784 is a leap year, 5785 and 5783 are not, 5787 is.
+        assertEquals(HebrewCalendarMath.packMonth(5785, JewishCalendar.ADAR),
+                HebrewCalendarMath.addYears(5784, JewishCalendar.ADAR_II, 1));
+        assertEquals(HebrewCalendarMath.packMonth(5787, JewishCalendar.ADAR_II),
+                HebrewCalendarMath.addYears(5784, JewishCalendar.ADAR_II, 3));
+        assertEquals(HebrewCalendarMath.packMonth(5783, JewishCalendar.ADAR),
+                HebrewCalendarMath.addYears(5784, JewishCalendar.ADAR, -1));
+        assertTrue(HebrewCalendarMath.isMonthBefore(5784, JewishCalendar.ADAR, 5784, JewishCalendar.ADAR_II));
+        assertTrue(HebrewCalendarMath.isMonthBefore(5784, JewishCalendar.ADAR_II, 5784, JewishCalendar.NISSAN));
+        assertFalse(HebrewCalendarMath.isMonthBefore(5785, JewishCalendar.TISHREI, 5784, JewishCalendar.ELUL));
+    }
+}
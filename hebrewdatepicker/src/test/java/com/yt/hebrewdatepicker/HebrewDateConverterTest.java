@@ -0,0 +1,154 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class HebrewDateConverterTest {
+
+    /** 1 January of year 1, 18 Teves 3761: the first day of the supported range. */
+    private static final long FIRST_EPOCH_DAY = LocalDate.of(1, 1, 1).toEpochDay();
+
+    private static int expected(long epochDay) {
+        return HebrewDate.from(new JewishCalendar(LocalDate.ofEpochDay(epochDay)));
+    }
+
+    @Test
+    public void convertsSingleDays() {
+        assertEquals(HebrewDate.of(5730, JewishCalendar.TEVES, 23), HebrewDateConverter.fromEpochDay(0));
+        assertEquals(HebrewDate.of(5730, JewishCalendar.TEVES, 22), HebrewDateConverter.fromEpochDay(-1));
+        assertEquals(HebrewDate.of(3761, JewishCalendar.TEVES, 18), HebrewDateConverter.fromEpochDay(FIRST_EPOCH_DAY));
+        // Rosh Hashana 5785.
+        assertEquals(HebrewDate.of(5785, JewishCalendar.TISHREI, 1),
+                HebrewDateConverter.fromEpochDay(LocalDate.of(2024, 10, 3).toEpochDay()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsLongDaysBeforeTheRange() {
+        HebrewDateConverter.fromEpochDays(new long[]{0, FIRST_EPOCH_DAY - 1}, new int[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsIntDaysBeforeTheRange() {
+        HebrewDateConverter.fromEpochDays(new int[]{(int) FIRST_EPOCH_DAY - 1}, new int[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTooShortOutput() {
+        HebrewDateConverter.fromEpochDays(new int[3], new int[2]);
+    }
+
+    @Test
+    public void leavesTheRestOfALongerOutputAlone() {
+        int[] out = {-7, -7, -7, -7};
+        HebrewDateConverter.fromEpochDays(new long[]{0, 1}, out);
+        assertArrayEquals(new int[]{expected(0), expected(1), -7, -7}, out);
+    }
+
+    @Test
+    public void intAndLongOverloadsAgree() {
+        int[] ints = {-1, 0, 19999, 20000, 20001, -300000};
+        long[] longs = new long[ints.length];
+        for (int i = 0; i < ints.length; i++) {
+            longs[i] = ints[i];
+        }
+        int[] fromInts = new int[ints.length];
+        int[] fromLongs = new int[ints.length];
+        HebrewDateConverter.fromEpochDays(ints, fromInts);
+        HebrewDateConverter.fromEpochDays(longs, fromLongs);
+        assertArrayEquals(fromInts, fromLongs);
+        for (int i = 0; i < ints.length; i++) {
+            assertEquals(expected(ints[i]), fromInts[i]);
+        }
+    }
+
+    @Test
+    public void followsSortedDaysAcrossYearsAndJumps() {
+        // Every day from Elul 5783 into 5786: each year boundary is crossed from the cached year.
+        long start = LocalDate.of(2023, 8, 20).toEpochDay();
+        int[] days = new int[900];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = (int) start + i;
+        }
+        int[] out = new int[days.length];
+        HebrewDateConverter.fromEpochDays(days, out);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals("epoch day " + days[i], expected(days[i]), out[i]);
+        }
+
+        // Backwards by a day, forward by a year and a half, by several years, and back to the start.
+        int[] jumps = {20000, 19999, 20000 + 550, 20000 + 550 + 383, 20000 + 3000, (int) FIRST_EPOCH_DAY, 20000};
+        out = new int[jumps.length];
+        HebrewDateConverter.fromEpochDays(jumps, out);
+        for (int i = 0; i < jumps.length; i++) {
+            assertEquals("epoch day " + jumps[i], expected(jumps[i]), out[i]);
+        }
+    }
+
+    private static int[] manyDays() {
+        int[] days = new int[100000];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = -20000 + i * 3;
+        }
+        return days;
+    }
+
+    @Test
+    public void parallelMatchesSequential() throws Exception {
+        int[] days = manyDays();
+        int[] sequential = new int[days.length];
+        HebrewDateConverter.fromEpochDays(days, sequential);
+
+        int[] inline = new int[days.length];
+        HebrewDateConverter.fromEpochDays(days, inline, Runnable::run);
+        assertArrayEquals(sequential, inline);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            int[] parallel = new int[days.length];
+            HebrewDateConverter.fromEpochDays(days, parallel, pool);
+            assertArrayEquals(sequential, parallel);
+            // Arrays too small to split are converted on the calling thread.
+            int[] small = new int[100];
+            HebrewDateConverter.fromEpochDays(Arrays.copyOf(days, 100), small, pool);
+            assertArrayEquals(Arrays.copyOf(sequential, 100), small);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void callerConvertsWhatTheExecutorNeverRuns() {
+        int[] days = manyDays();
+        int[] sequential = new int[days.length];
+        HebrewDateConverter.fromEpochDays(days, sequential);
+        int[] out = new int[days.length];
+        HebrewDateConverter.fromEpochDays(days, out, task -> { });
+        assertArrayEquals(sequential, out);
+    }
+
+    @Test(timeout = 10000)
+    public void doesNotDeadlockOnTheExecutorsOnlyThread() throws Exception {
+        final int[] days = manyDays();
+        int[] sequential = new int[days.length];
+        HebrewDateConverter.fromEpochDays(days, sequential);
+        final ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            final int[] out = new int[days.length];
+            Future<?> call = single.submit(() -> HebrewDateConverter.fromEpochDays(days, out, single));
+            call.get(5, TimeUnit.SECONDS);
+            assertArrayEquals(sequential, out);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.yt.hebrewdatepicker;
+
+import com.kosherjava.zmanim.hebrewcalendar.JewishCalendar;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+public class HebrewDateTest {
+
+    @Test
+    public void packedDatesCompareInCalendarOrder() {
+        // Tishrei starts the year, Adar I comes before Adar II, and Elul is last.
+        int[] ordered = {
+                HebrewDate.of(5783, JewishCalendar.ELUL, 29),
+                HebrewDate.of(5784, JewishCalendar.TISHREI, 1),
+                HebrewDate.of(5784, JewishCalendar.SHEVAT, 30),
+                HebrewDate.of(5784, JewishCalendar.ADAR, 1),
+                HebrewDate.of(5784, JewishCalendar.ADAR, 30),
+                HebrewDate.of(5784, JewishCalendar.ADAR_II, 1),
+                HebrewDate.of(5784, JewishCalendar.NISSAN, 1),
+                HebrewDate.of(5784, JewishCalendar.ELUL, 29),
+                HebrewDate.of(5785, JewishCalendar.TISHREI, 1),
+        };
+        for (int i = 1; i < ordered.length; i++) {
+            assertTrue(HebrewDate.compare(ordered[i - 1], ordered[i]) < 0);
+            assertTrue(HebrewDate.compareMonths(ordered[i - 1], ordered[i]) <= 0);
+        }
+        assertEquals(0, HebrewDate.compareMonths(ordered[3], ordered[4]));
+        assertTrue(HebrewDate.isSameMonth(ordered[3], ordered[4]));
+        assertFalse(HebrewDate.isSameMonth(ordered[4], ordered[5]));
+    }
+
+    @Test
+    public void fieldsRoundTripForEveryMonth() {
+        int[] months = {
+                JewishCalendar.TISHREI, JewishCalendar.CHESHVAN, JewishCalendar.KISLEV, JewishCalendar.TEVES,
+                JewishCalendar.SHEVAT, JewishCalendar.ADAR, JewishCalendar.ADAR_II, JewishCalendar.NISSAN,
+                JewishCalendar.IYAR, JewishCalendar.SIVAN, JewishCalendar.TAMMUZ, JewishCalendar.AV, JewishCalendar.ELUL
+        };
+        for (int month : months) {
+            for (int year : new int[]{GematriaParser.MIN_YEAR, 5784, 9999}) {
+                int date = HebrewDate.of(year, month, 30);
+                assertEquals(year, HebrewDate.year(date));
+                assertEquals(month, HebrewDate.month(date));
+                assertEquals(30, HebrewDate.day(date));
+                assertEquals(HebrewDate.of(year, month, 1), HebrewDate.monthStart(date));
+            }
+        }
+    }
+
+    @Test
+    public void plusDaysCrossesMonthsOfEveryLength() {
+        // Within the month, including the last day every month has.
+        assertEquals(HebrewDate.of(5785, JewishCalendar.CHESHVAN, 29),
+                HebrewDate.plusDays(HebrewDate.of(5785, JewishCalendar.CHESHVAN, 1), 28));
+        // 5785 has 30 Cheshvan, 5786 does not.
+        assertEquals(HebrewDate.of(5785, JewishCalendar.CHESHVAN, 30),
+                HebrewDate.plusDays(HebrewDate.of(5785, JewishCalendar.CHESHVAN, 1), 29));
+        assertEquals(HebrewDate.of(5786, JewishCalendar.KISLEV, 1),
+                HebrewDate.plusDays(HebrewDate.of(5786, JewishCalendar.CHESHVAN, 1), 29));
+        // 30 Adar I to Adar II, and Elul to the next year.
+        assertEquals(HebrewDate.of(5784, JewishCalendar.ADAR_II, 1),
+                HebrewDate.plusDays(HebrewDate.of(5784, JewishCalendar.ADAR, 30), 1));
+        assertEquals(HebrewDate.of(5785, JewishCalendar.TISHREI, 1),
+                HebrewDate.plusDays(HebrewDate.of(5784, JewishCalendar.ELUL, 29), 1));
+        assertEquals(HebrewDate.of(5784, JewishCalendar.ELUL, 29),
+                HebrewDate.plusDays(HebrewDate.of(5785, JewishCalendar.TISHREI, 1), -1));
+        assertEquals(HebrewDate.of(5785, JewishCalendar.TISHREI, 1),
+                HebrewDate.plusDays(HebrewDate.of(5784, JewishCalendar.TISHREI, 1), 383));
+    }
+
+    @Test
+    public void plusDaysAgreesWithKosherJavaForLongSteps() {
+        JewishCalendar jc = new JewishCalendar(5783, JewishCalendar.ELUL, 1);
+        int date = HebrewDate.from(jc);
+        for (int step : new int[]{30, 59, 354, 385, 1000, 10000}) {
+            JewishCalendar later = (JewishCalendar) jc.clone();
+            later.forward(Calendar.DATE, step);
+            assertEquals(HebrewDate.from(later), HebrewDate.plusDays(date, step));
+            assertEquals(date, HebrewDate.plusDays(HebrewDate.from(later), -step));
+        }
+    }
+
+    @Test
+    public void plusMonthsAndYearsReturnTheFirstOfTheMonth() {
+        int adarI = HebrewDate.of(5784, JewishCalendar.ADAR, 30);
+        assertEquals(HebrewDate.of(5784, JewishCalendar.ADAR_II, 1), HebrewDate.plusMonths(adarI, 1));
+        assertEquals(HebrewDate.of(5784, JewishCalendar.SHEVAT, 1), HebrewDate.plusMonths(adarI, -1));
+        // 5784 has 13 months.
+        assertEquals(HebrewDate.of(5785, JewishCalendar.ADAR, 1), HebrewDate.plusMonths(adarI, 13));
+        assertEquals(HebrewDate.of(5784, JewishCalendar.TISHREI, 1),
+                HebrewDate.plusMonths(HebrewDate.of(5783, JewishCalendar.ELUL, 29), 1));
+        assertEquals(HebrewDate.of(5784, JewishCalendar.ADAR_II, 1),
+                HebrewDate.plusMonths(HebrewDate.of(5784, JewishCalendar.ADAR_II, 14), 0));
+        // Adar II becomes Adar in a regular year and stays Adar II in a leap one.
+        int adarII = HebrewDate.of(5784, JewishCalendar.ADAR_II, 14);
+        assertEquals(HebrewDate.of(5785, JewishCalendar.ADAR, 1), HebrewDate.plusYears(adarII, 1));
+        assertEquals(HebrewDate.of(5787, JewishCalendar.ADAR_II, 1), HebrewDate.plusYears(adarII, 3));
+        assertEquals(HebrewDate.of(5782, JewishCalendar.ADAR_II, 1), HebrewDate.plusYears(adarII, -2));
+    }
+
+    @Test
+    public void convertsAtTheEdgesOfTheSupportedRange() {
+        // The first day JewishCalendar accepts and the last year KosherJava can format.
+        int[] dates = {
+                HebrewDate.of(3761, JewishCalendar.TEVES, 18),
+                HebrewDate.of(9999, JewishCalendar.ELUL, 29),
+        };
+        for (int date : dates) {
+            JewishCalendar jc = HebrewDate.toJewishCalendar(date);
+            assertEquals(date, HebrewDate.from(jc));
+            assertEquals(jc.getAbsDate(), HebrewDate.toAbs(date));
+            assertEquals(date, HebrewDate.fromAbs(jc.getAbsDate()));
+        }
+        assertEquals(1, HebrewDate.toAbs(dates[0]));
+    }
+
+    @Test
+    public void fromAbsWalksALeapYearDayByDay() {
+        JewishCalendar jc = new JewishCalendar(5784, JewishCalendar.TISHREI, 1);
+        for (int i = 0; i < 383; i++) {
+            assertEquals(HebrewDate.from(jc), HebrewDate.fromAbs(jc.getAbsDate()));
+            jc.forward(Calendar.DATE, 1);
+        }
+        assertEquals(HebrewDate.of(5785, JewishCalendar.TISHREI, 1), HebrewDate.from(jc));
+    }
+}
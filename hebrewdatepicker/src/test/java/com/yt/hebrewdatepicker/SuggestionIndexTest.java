@@ -0,0 +1,105 @@
+package com.yt.hebrewdatepicker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SuggestionIndexTest {
+
+    private static final List<String> MONTHS = Arrays.asList(
+            "אלול תשפ״ד", "תשרי תשפ״ה", "חשון תשפ״ה", "כסלו תשפ״ה", "אדר תשפ״ה",
+            "ניסן תשפ״ה", "אדר א׳ תשפ״ז", "אדר ב׳ תשפ״ז", "אב תשפ״ז");
+
+    @Test
+    public void emptyConstraintReturnsEverythingFromIndex() {
+        SuggestionIndex index = new SuggestionIndex(MONTHS);
+        assertEquals(MONTHS, index.filter("", 0));
+        assertEquals(MONTHS, index.filter(null, 0));
+        assertEquals(MONTHS.subList(7, 9), index.filter("", 7));
+        assertEquals(Collections.emptyList(), index.filter("", 20));
+    }
+
+    @Test
+    public void ignoresGereshGershayimAndSpaces() {
+        SuggestionIndex index = new SuggestionIndex(MONTHS);
+        List<String> adarII = Collections.singletonList("אדר ב׳ תשפ״ז");
+        assertEquals(adarII, index.filter("אדר ב׳ תשפ״ז", 0));
+        assertEquals(adarII, index.filter("אדר ב' תשפ\"ז", 0));
+        assertEquals(adarII, index.filter("אדרבתשפז", 0));
+        assertEquals(adarII, index.filter("  אדר   ב ", 0));
+        // Matches may span what were separate words.
+        assertEquals(Arrays.asList("חשון תשפ״ה", "ניסן תשפ״ה"), index.filter("ן ת", 0));
+    }
+
+    @Test
+    public void matchesDoNotSpanTwoItems() {
+        // "אלול" ends and "לולב" starts with ל, but no single item contains "לל".
+        SuggestionIndex index = new SuggestionIndex(Arrays.asList("אלול", "לולב"));
+        assertEquals(Collections.emptyList(), index.filter("לל", 0));
+        assertEquals(Arrays.asList("אלול", "לולב"), index.filter("לול", 0));
+        assertEquals(-1, index.firstMatch("לל"));
+    }
+
+    @Test
+    public void itemWithSeveralMatchesIsReturnedOnceInOrder() {
+        SuggestionIndex index = new SuggestionIndex(MONTHS);
+        // "ת" appears twice in "תשרי תשפ״ה", and once in every other item.
+        assertEquals(MONTHS, index.filter("ת", 0));
+        assertEquals(Arrays.asList("אדר תשפ״ה", "אדר א׳ תשפ״ז", "אדר ב׳ תשפ״ז"), index.filter("אדר", 0));
+        assertEquals(Arrays.asList("אדר א׳ תשפ״ז", "אדר ב׳ תשפ״ז"), index.filter("אדר", 5));
+        assertEquals(4, index.firstMatch("אדר"));
+    }
+
+    @Test
+    public void lowerCasesLatinText() {
+        SuggestionIndex index = new SuggestionIndex(Arrays.asList("Rosh Hashana", "Purim"));
+        assertEquals(Collections.singletonList("Rosh Hashana"), index.filter("roshHASH", 0));
+        assertEquals(Collections.singletonList("Purim"), index.filter("URI", 0));
+    }
+
+    @Test
+    public void longQueriesGrowTheBuffer() {
+        StringBuilder item = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            item.append((char) ('a' + i % 26));
+        }
+        SuggestionIndex index = new SuggestionIndex(Arrays.asList("short", item.toString()));
+        assertEquals(Collections.singletonList(item.toString()), index.filter(item.substring(3, 90), 0));
+        assertEquals(Collections.emptyList(), index.filter(item + "x", 0));
+    }
+
+    @Test
+    public void agreesWithAPlainSubstringSearch() {
+        Random random = new Random(7);
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 1 + random.nextInt(12); j > 0; j--) {
+                sb.append("אבגדה ״".charAt(random.nextInt(7)));
+            }
+            items.add(sb.toString());
+        }
+        SuggestionIndex index = new SuggestionIndex(items);
+        char[] buffer = new char[16];
+        for (int q = 0; q < 200; q++) {
+            String query = items.get(random.nextInt(items.size()));
+            query = query.substring(random.nextInt(query.length()));
+            String normalizedQuery = new String(buffer, 0, SuggestionIndex.normalize(query, buffer, 0));
+            if (normalizedQuery.isEmpty()) continue;
+            int from = random.nextInt(50);
+            List<String> expected = new ArrayList<>();
+            for (int i = from; i < items.size(); i++) {
+                char[] chars = new char[items.get(i).length()];
+                String normalized = new String(chars, 0, SuggestionIndex.normalize(items.get(i), chars, 0));
+                if (normalized.contains(normalizedQuery)) expected.add(items.get(i));
+            }
+            assertEquals(query, expected, index.filter(query, from));
+        }
+    }
+}
@@ -22,3 +22,4 @@ dependencyResolutionManagement {
 rootProject.name = "Hebrew"
 include(":app")
 include(":hebrewdatepicker")
+include(":benchmarks")